@@ -0,0 +1,174 @@
+// Headless batch renderer: turns saved drafts (or in-memory ResumeData objects) into PDFs
+// on a fixed worker pool, without a Stage or the JavaFX toolkit. With a RenderCache,
+// drafts unchanged since an earlier run are copied from the cache instead of rendered.
+//
+// Usage: java BatchRenderEngine <draftsDir> <outputDir> [workers]
+// Pass -Dresume.renderCacheDir=<folder> to keep rendered PDFs between runs.
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class BatchRenderEngine {
+
+    private final int workers;
+    private final ResumePdfRenderer renderer = new ResumePdfRenderer();
+    private final RenderCache cache; // null: always render
+
+    public BatchRenderEngine(int workers) {
+        this(workers, null);
+    }
+
+    public BatchRenderEngine(int workers, RenderCache cache) {
+        if (workers < 1) throw new IllegalArgumentException("workers must be >= 1");
+        this.workers = workers;
+        this.cache = cache;
+    }
+
+    // Renders every *.json draft in draftsDir to outputDir/<name>.pdf
+    public Report renderDirectory(Path draftsDir, Path outputDir) throws IOException, InterruptedException {
+        List<Path> drafts = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(draftsDir, "*.json")) {
+            for (Path p : stream) drafts.add(p);
+        }
+        Files.createDirectories(outputDir);
+
+        List<Job> jobs = new ArrayList<>(drafts.size());
+        for (Path draft : drafts) {
+            Path target = outputDir.resolve(stripExtension(draft.getFileName().toString()) + ".pdf");
+            jobs.add(() -> writePdf(DraftStore.load(draft), target));
+        }
+        return run(jobs);
+    }
+
+    // Renders in-memory resumes to outputDir/resume-<index>.pdf
+    public Report renderAll(List<ResumeData> resumes, Path outputDir) throws IOException, InterruptedException {
+        Files.createDirectories(outputDir);
+        List<Job> jobs = new ArrayList<>(resumes.size());
+        for (int i = 0; i < resumes.size(); i++) {
+            ResumeData data = resumes.get(i);
+            Path target = outputDir.resolve("resume-" + i + ".pdf");
+            jobs.add(() -> writePdf(data, target));
+        }
+        return run(jobs);
+    }
+
+    private void writePdf(ResumeData data, Path target) throws Exception {
+        if (cache != null) {
+            Files.write(target, cache.get(data));
+            return;
+        }
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 64 * 1024)) {
+            renderer.render(data, out);
+        }
+    }
+
+    private Report run(List<Job> jobs) throws InterruptedException {
+        // One slot per job so workers never contend on a shared collection
+        long[] latencies = new long[jobs.size()];
+        AtomicInteger failures = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "resume-render");
+            t.setDaemon(true);
+            return t;
+        });
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>(jobs.size());
+            for (int i = 0; i < jobs.size(); i++) {
+                int index = i;
+                Job job = jobs.get(i);
+                futures.add(pool.submit(() -> {
+                    long t0 = System.nanoTime();
+                    try {
+                        job.run();
+                    } catch (Exception e) {
+                        failures.incrementAndGet();
+                        e.printStackTrace();
+                    }
+                    latencies[index] = System.nanoTime() - t0;
+                }));
+            }
+            for (Future<?> f : futures) {
+                try {
+                    f.get();
+                } catch (java.util.concurrent.ExecutionException e) {
+                    failures.incrementAndGet();
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Report(jobs.size(), failures.get(), workers, elapsed, latencies);
+    }
+
+    private static String stripExtension(String name) {
+        int dot = name.lastIndexOf('.');
+        return dot > 0 ? name.substring(0, dot) : name;
+    }
+
+    @FunctionalInterface
+    private interface Job {
+        void run() throws Exception;
+    }
+
+    public static class Report {
+        public final int documents;
+        public final int failures;
+        public final int workers;
+        public final long elapsedNanos;
+        private final long[] sortedLatencies;
+
+        Report(int documents, int failures, int workers, long elapsedNanos, long[] latencies) {
+            this.documents = documents;
+            this.failures = failures;
+            this.workers = workers;
+            this.elapsedNanos = elapsedNanos;
+            this.sortedLatencies = latencies.clone();
+            Arrays.sort(this.sortedLatencies);
+        }
+
+        public double throughputPerSecond() {
+            return elapsedNanos == 0 ? 0 : documents / (elapsedNanos / 1e9);
+        }
+
+        public double percentileMillis(double p) {
+            if (sortedLatencies.length == 0) return 0;
+            int index = (int) Math.ceil(p / 100.0 * sortedLatencies.length) - 1;
+            index = Math.max(0, Math.min(index, sortedLatencies.length - 1));
+            return sortedLatencies[index] / 1e6;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d resumes (%d failed) on %d workers in %.2f s: %.1f resumes/sec, p50 %.2f ms, p99 %.2f ms",
+                    documents, failures, workers, elapsedNanos / 1e9, throughputPerSecond(),
+                    percentileMillis(50), percentileMillis(99));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: java BatchRenderEngine <draftsDir> <outputDir> [workers]");
+            System.exit(1);
+        }
+        int workers = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        RenderCache cache = System.getProperty("resume.renderCacheDir") != null ? RenderCache.createDefault() : null;
+        Report report = new BatchRenderEngine(workers, cache).renderDirectory(Paths.get(args[0]), Paths.get(args[1]));
+        System.out.println(report);
+        if (cache != null) System.out.println(cache);
+    }
+}
@@ -0,0 +1,380 @@
+// Compact binary archive of many resume drafts, read through a memory-mapped file.
+//
+// Layout (big-endian):
+//   header  : magic "RMDB", int version, int recordCount, long indexOffset
+//             (version 1 archives lack the sections after CUSTOM_FIELDS)
+//   records : per record an int offset table (one slot per Section, relative to the
+//             record start) followed by the section payloads
+//   index   : recordCount longs, the absolute offset of every record
+// Strings are an int byte length (-1 for null) followed by UTF-8 bytes, so a single
+// field of record N can be decoded without touching the rest of the file.
+//
+// Usage: java BinaryDraftStore pack <draftsDir> <archive.rmdb>
+//        java BinaryDraftStore unpack <archive.rmdb> <draftsDir>
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class BinaryDraftStore implements Closeable {
+
+    private static final int MAGIC = 0x524D4442; // "RMDB"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8;
+
+    public enum Section {
+        FULL_NAME, EMAIL, PHONE, OBJECTIVE, PROFILE_PHOTO, TEMPLATE, STYLE,
+        EDUCATION, SKILLS, PROJECTS, INTERNSHIPS, EXPERIENCE, CUSTOM_FIELDS,
+        // Added in version 2
+        LINKS, AWARDS, CERTIFICATES, LICENSES, EXTRA_FIELDS
+    }
+
+    private static final Section[] SECTIONS = Section.values();
+    private static final int TABLE_SIZE = SECTIONS.length * 4;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int sectionCount;
+    private final int recordCount;
+    private final int indexOffset;
+
+    private BinaryDraftStore(FileChannel channel, MappedByteBuffer buffer) throws IOException {
+        this.channel = channel;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a resume draft archive");
+        }
+        int version = buffer.getInt(4);
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported archive version " + version);
+        }
+        this.sectionCount = version == 1 ? Section.CUSTOM_FIELDS.ordinal() + 1 : SECTIONS.length;
+        this.recordCount = buffer.getInt(8);
+        this.indexOffset = (int) buffer.getLong(12);
+    }
+
+    // The archive is mapped read-only; only absolute reads are used, so one
+    // instance can be shared between reader threads.
+    public static BinaryDraftStore open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Archive larger than 2 GB, split it into several files");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new BinaryDraftStore(channel, buffer);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return recordCount;
+    }
+
+    // Sections missing from older archives read as null or empty
+    public String readString(int record, Section section) {
+        int pos = sectionOffset(record, section);
+        return pos < 0 ? null : stringAt(pos);
+    }
+
+    public String readFullName(int record) {
+        return readString(record, Section.FULL_NAME);
+    }
+
+    // For SKILLS, PROJECTS, INTERNSHIPS, EXPERIENCE, AWARDS, CERTIFICATES and LICENSES
+    public List<String> readList(int record, Section section) {
+        int pos = sectionOffset(record, section);
+        if (pos < 0) return new ArrayList<>();
+        int count = buffer.getInt(pos);
+        pos += 4;
+        List<String> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(stringAt(pos));
+            pos = skipString(pos);
+        }
+        return items;
+    }
+
+    public ResumeData read(int record) {
+        ResumeData data = new ResumeData();
+        data.fullName = readString(record, Section.FULL_NAME);
+        data.email = readString(record, Section.EMAIL);
+        data.phone = readString(record, Section.PHONE);
+        data.objective = readString(record, Section.OBJECTIVE);
+        data.profilePhotoPath = readString(record, Section.PROFILE_PHOTO);
+        data.selectedTemplate = readString(record, Section.TEMPLATE);
+
+        int pos = sectionOffset(record, Section.STYLE);
+        data.fontColor = stringAt(pos);
+        pos = skipString(pos);
+        data.fontStyle = stringAt(pos);
+        pos = skipString(pos);
+        data.fontSize = buffer.getInt(pos);
+        data.margin = buffer.getInt(pos + 4);
+        byte flags = buffer.get(pos + 8);
+        data.bold = (flags & 1) != 0;
+        data.italic = (flags & 2) != 0;
+
+        pos = sectionOffset(record, Section.EDUCATION);
+        int rows = buffer.getInt(pos);
+        pos += 4;
+        for (int r = 0; r < rows; r++) {
+            int columns = buffer.getInt(pos);
+            pos += 4;
+            String[] row = new String[columns];
+            for (int c = 0; c < columns; c++) {
+                row[c] = stringAt(pos);
+                pos = skipString(pos);
+            }
+            data.education.add(row);
+        }
+
+        data.skills.addAll(readList(record, Section.SKILLS));
+        data.projects.addAll(readList(record, Section.PROJECTS));
+        data.internships.addAll(readList(record, Section.INTERNSHIPS));
+        data.experience.addAll(readList(record, Section.EXPERIENCE));
+
+        readMap(record, Section.CUSTOM_FIELDS, data.customFields);
+
+        pos = sectionOffset(record, Section.LINKS);
+        if (pos >= 0) {
+            data.linkedin = stringAt(pos);
+            data.github = stringAt(skipString(pos));
+        }
+        data.awards.addAll(readList(record, Section.AWARDS));
+        data.certificates.addAll(readList(record, Section.CERTIFICATES));
+        data.licenses.addAll(readList(record, Section.LICENSES));
+        readMap(record, Section.EXTRA_FIELDS, data.fields);
+        return data;
+    }
+
+    private void readMap(int record, Section section, Map<String, String> entries) {
+        int pos = sectionOffset(record, section);
+        if (pos < 0) return;
+        int count = buffer.getInt(pos);
+        pos += 4;
+        for (int i = 0; i < count; i++) {
+            String key = stringAt(pos);
+            pos = skipString(pos);
+            entries.put(key, stringAt(pos));
+            pos = skipString(pos);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        // The mapping itself is released when the buffer is garbage collected
+        channel.close();
+    }
+
+    private int sectionOffset(int record, Section section) {
+        if (record < 0 || record >= recordCount) {
+            throw new IndexOutOfBoundsException("record " + record + " of " + recordCount);
+        }
+        if (section.ordinal() >= sectionCount) return -1;
+        int recordStart = (int) buffer.getLong(indexOffset + record * 8);
+        return recordStart + buffer.getInt(recordStart + section.ordinal() * 4);
+    }
+
+    private String stringAt(int pos) {
+        int length = buffer.getInt(pos);
+        if (length < 0) return null;
+        byte[] bytes = new byte[length];
+        buffer.get(pos + 4, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int skipString(int pos) {
+        int length = buffer.getInt(pos);
+        return pos + 4 + Math.max(length, 0);
+    }
+
+    // ---- Writing ----
+
+    // Written to a temporary file next to the archive and renamed over it, so a crash
+    // part-way leaves the previous archive intact
+    public static void write(Path file, Iterable<ResumeData> drafts) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            writeArchive(temp, drafts);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeArchive(Path file, Iterable<ResumeData> drafts) throws IOException {
+        List<Long> offsets = new ArrayList<>();
+        ByteArrayOutputStream recordBytes = new ByteArrayOutputStream(4096);
+        DataOutputStream out = new DataOutputStream(recordBytes);
+        int[] table = new int[SECTIONS.length];
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            channel.position(HEADER_SIZE);
+            long position = HEADER_SIZE;
+
+            for (ResumeData data : drafts) {
+                recordBytes.reset();
+                out.write(new byte[TABLE_SIZE]);
+                for (Section section : SECTIONS) {
+                    table[section.ordinal()] = recordBytes.size();
+                    writeSection(out, section, data);
+                }
+                byte[] bytes = recordBytes.toByteArray();
+                ByteBuffer tableView = ByteBuffer.wrap(bytes);
+                for (int i = 0; i < table.length; i++) tableView.putInt(i * 4, table[i]);
+
+                offsets.add(position);
+                writeFully(channel, ByteBuffer.wrap(bytes));
+                position += bytes.length;
+            }
+
+            ByteBuffer index = ByteBuffer.allocate(offsets.size() * 8);
+            for (long offset : offsets) index.putLong(offset);
+            index.flip();
+            writeFully(channel, index);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.putInt(MAGIC).putInt(VERSION).putInt(offsets.size()).putLong(position);
+            header.flip();
+            channel.position(0);
+            writeFully(channel, header);
+        }
+    }
+
+    private static void writeSection(DataOutputStream out, Section section, ResumeData data) throws IOException {
+        switch (section) {
+            case FULL_NAME: writeString(out, data.fullName); break;
+            case EMAIL: writeString(out, data.email); break;
+            case PHONE: writeString(out, data.phone); break;
+            case OBJECTIVE: writeString(out, data.objective); break;
+            case PROFILE_PHOTO: writeString(out, data.profilePhotoPath); break;
+            case TEMPLATE: writeString(out, data.selectedTemplate); break;
+            case STYLE:
+                writeString(out, data.fontColor);
+                writeString(out, data.fontStyle);
+                out.writeInt(data.fontSize);
+                out.writeInt(data.margin);
+                out.writeByte((data.bold ? 1 : 0) | (data.italic ? 2 : 0));
+                break;
+            case EDUCATION:
+                out.writeInt(data.education.size());
+                for (String[] row : data.education) {
+                    out.writeInt(row.length);
+                    for (String column : row) writeString(out, column);
+                }
+                break;
+            case SKILLS: writeList(out, data.skills); break;
+            case PROJECTS: writeList(out, data.projects); break;
+            case INTERNSHIPS: writeList(out, data.internships); break;
+            case EXPERIENCE: writeList(out, data.experience); break;
+            case CUSTOM_FIELDS: writeMap(out, data.customFields); break;
+            case LINKS:
+                writeString(out, data.linkedin);
+                writeString(out, data.github);
+                break;
+            case AWARDS: writeList(out, data.awards); break;
+            case CERTIFICATES: writeList(out, data.certificates); break;
+            case LICENSES: writeList(out, data.licenses); break;
+            case EXTRA_FIELDS: writeMap(out, data.fields); break;
+        }
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, String> entries) throws IOException {
+        out.writeInt(entries.size());
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    private static void writeList(DataOutputStream out, List<String> items) throws IOException {
+        out.writeInt(items.size());
+        for (String item : items) writeString(out, item);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) channel.write(buffer);
+    }
+
+    // ---- Import / export between JSON drafts and an archive ----
+
+    public static int importJsonDrafts(Path draftsDir, Path archive) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(draftsDir, "*.json")) {
+            for (Path p : stream) files.add(p);
+        }
+        // Drafts are parsed one at a time while writing, never all held in memory
+        Iterable<ResumeData> drafts = () -> files.stream().map(p -> {
+            try {
+                return DraftStore.load(p);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }).iterator();
+        try {
+            write(archive, drafts);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        return files.size();
+    }
+
+    public static int exportJsonDrafts(Path archive, Path draftsDir) throws IOException {
+        Files.createDirectories(draftsDir);
+        try (BinaryDraftStore store = open(archive)) {
+            for (int i = 0; i < store.size(); i++) {
+                DraftStore.save(store.read(i), draftsDir.resolve("draft-" + i + ".json"));
+            }
+            return store.size();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("pack")) {
+            int n = importJsonDrafts(Paths.get(args[1]), Paths.get(args[2]));
+            System.out.println("Packed " + n + " drafts into " + args[2]);
+        } else if (args.length == 3 && args[0].equals("unpack")) {
+            int n = exportJsonDrafts(Paths.get(args[1]), Paths.get(args[2]));
+            System.out.println("Unpacked " + n + " drafts into " + args[2]);
+        } else {
+            System.err.println("Usage: java BinaryDraftStore pack <draftsDir> <archive.rmdb>");
+            System.err.println("       java BinaryDraftStore unpack <archive.rmdb> <draftsDir>");
+            System.exit(1);
+        }
+    }
+}
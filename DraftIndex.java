@@ -0,0 +1,732 @@
+// Inverted index over a folder of JSON drafts, for finding drafts without opening them.
+//
+// Indexed fields: name, skills, institute and course (from education), experience, and
+// custom (custom field names and values). Text is split into lower-case words; "+" and
+// "#" count as word characters so "C++" and "C#" stay searchable.
+//
+// Queries:
+//   kubernetes                     the word in any field
+//   skills:kube*                   a word starting with "kube" in skills
+//   institute:"iit delhi"          both words in one field (no word positions are kept)
+//   a b, a AND b / a OR b          all / any; AND binds tighter than OR
+//   NOT a, -a, ( ... )             exclusion and grouping
+//
+// The index is kept in memory and persisted to a file (by default .draft-index in the
+// drafts folder). On open, only drafts whose size or modification time changed since the
+// file was written are read again; watch() then follows the folder with a WatchService
+// and updates the index, and the file, as drafts are saved, replaced or deleted.
+//
+// File layout (big-endian):
+//   header : magic "RDIX", int version, int draftCount
+//   drafts : per draft a UTF file name, long modified millis, long size
+//   fields : per Field an int term count, then per term a UTF term, an int posting
+//            count and the draft numbers as ascending varint deltas
+//
+// Usage: java DraftIndex <draftsDir> [query]
+//        (without a query, reads queries from standard input and follows the folder)
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class DraftIndex implements Closeable {
+
+    public static final String DEFAULT_FILE_NAME = ".draft-index";
+
+    private static final int MAGIC = 0x52444958; // "RDIX"
+    private static final int VERSION = 1;
+
+    // Longer "words" are pasted data, not something anyone searches for
+    private static final int MAX_TERM_LENGTH = 64;
+
+    // Quiet period after a burst of file events before the index file is rewritten
+    private static final long WATCH_SETTLE_MILLIS = 200;
+
+    public enum Field {
+        NAME, SKILLS, INSTITUTE, COURSE, EXPERIENCE, CUSTOM;
+
+        final String queryName = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final Field[] FIELDS = Field.values();
+
+    private final Path draftsDir;
+    private final Path indexFile;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // One save() at a time: they share the temp file
+    private final Object saveLock = new Object();
+
+    // Drafts by number; numbers only grow, a replaced or deleted draft leaves a dead number
+    // behind until the next compaction
+    private final List<String> names = new ArrayList<>();
+    private final List<long[]> stamps = new ArrayList<>(); // modified millis, size
+    private final Map<String, Integer> numberByName = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final Map<Field, TreeMap<String, Postings>> postings = new EnumMap<>(Field.class);
+
+    // Set under the write lock; read by saveIfChanged() from any thread
+    private volatile boolean dirty;
+    private WatchService watcher;
+    private Thread watchThread;
+
+    // Draft numbers containing one term, ascending
+    private static final class Postings {
+        int[] ids = new int[2];
+        int size;
+
+        void add(int id) {
+            if (size > 0 && ids[size - 1] == id) return;
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            ids[size++] = id;
+        }
+
+        void addTo(BitSet bits) {
+            for (int i = 0; i < size; i++) bits.set(ids[i]);
+        }
+    }
+
+    private DraftIndex(Path draftsDir, Path indexFile) {
+        this.draftsDir = draftsDir;
+        this.indexFile = indexFile;
+        for (Field field : FIELDS) postings.put(field, new TreeMap<>());
+    }
+
+    public static DraftIndex open(Path draftsDir) throws IOException {
+        return open(draftsDir, draftsDir.resolve(DEFAULT_FILE_NAME));
+    }
+
+    // Loads the index file if there is a usable one, then brings it up to date with the folder
+    public static DraftIndex open(Path draftsDir, Path indexFile) throws IOException {
+        DraftIndex index = new DraftIndex(draftsDir, indexFile);
+        if (Files.exists(indexFile)) {
+            try {
+                index.load();
+            } catch (IOException e) {
+                // Unreadable or from another version: start over from the drafts
+                index = new DraftIndex(draftsDir, indexFile);
+            }
+        }
+        index.refresh();
+        index.saveIfChanged();
+        return index;
+    }
+
+    public Path getDraftsDir() {
+        return draftsDir;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return numberByName.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- Keeping up with the folder ----
+
+    // Re-reads new and changed drafts and forgets deleted ones; returns how many changed
+    public int refresh() throws IOException {
+        Map<String, long[]> onDisk = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(draftsDir, "*.json")) {
+            for (Path p : stream) {
+                BasicFileAttributes attrs = Files.readAttributes(p, BasicFileAttributes.class);
+                if (attrs.isRegularFile()) {
+                    onDisk.put(p.getFileName().toString(), new long[] {attrs.lastModifiedTime().toMillis(), attrs.size()});
+                }
+            }
+        }
+
+        List<String> gone = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (String name : numberByName.keySet()) {
+                if (!onDisk.containsKey(name)) gone.add(name);
+            }
+            for (Map.Entry<String, long[]> entry : onDisk.entrySet()) {
+                Integer number = numberByName.get(entry.getKey());
+                if (number == null || !Arrays.equals(stamps.get(number), entry.getValue())) changed.add(entry.getKey());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Parsing is the slow part and needs no lock; a first build of a big folder uses every core
+        List<Parsed> parsed = changed.parallelStream().map(this::parse).toList();
+
+        lock.writeLock().lock();
+        try {
+            for (String name : gone) remove(name);
+            for (Parsed p : parsed) put(p);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return gone.size() + changed.size();
+    }
+
+    // Follows the folder on a background thread until close()
+    public synchronized void watch() throws IOException {
+        if (watcher != null) return;
+        watcher = draftsDir.getFileSystem().newWatchService();
+        draftsDir.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        WatchService service = watcher;
+        watchThread = new Thread(() -> followChanges(service), "draft-index-watcher");
+        watchThread.setDaemon(true);
+        watchThread.start();
+    }
+
+    private void followChanges(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                Set<String> touched = new LinkedHashSet<>();
+                boolean overflow = false;
+                // Collect the whole burst (an editor save is several events) before acting on it
+                while (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            overflow = true;
+                        } else if (event.context().toString().endsWith(".json")) {
+                            touched.add(event.context().toString());
+                        }
+                    }
+                    key.reset();
+                    key = service.poll(WATCH_SETTLE_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                try {
+                    if (overflow) {
+                        refresh();
+                    } else {
+                        for (String name : touched) update(name);
+                    }
+                    saveIfChanged();
+                } catch (IOException e) {
+                    System.err.println("Draft index: " + e.getMessage());
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // closed
+        }
+    }
+
+    // Re-reads one draft, or forgets it if it is gone
+    private void update(String name) {
+        Parsed parsed = Files.isRegularFile(draftsDir.resolve(name)) ? parse(name) : null;
+        lock.writeLock().lock();
+        try {
+            if (parsed == null) {
+                remove(name);
+            } else {
+                put(parsed);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---- Indexing ----
+
+    // One draft's words per field, read outside the lock
+    private record Parsed(String name, long[] stamp, Map<Field, Set<String>> terms) {}
+
+    private Parsed parse(String name) {
+        Path file = draftsDir.resolve(name);
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            long[] stamp = {attrs.lastModifiedTime().toMillis(), attrs.size()};
+            ResumeData data = DraftStore.load(file);
+
+            Map<Field, Set<String>> terms = new EnumMap<>(Field.class);
+            for (Field field : FIELDS) terms.put(field, new HashSet<>());
+            tokenize(data.fullName, terms.get(Field.NAME));
+            for (String skill : data.skills) tokenize(skill, terms.get(Field.SKILLS));
+            for (String[] row : data.education) {
+                if (row.length > 0) tokenize(row[0], terms.get(Field.COURSE));
+                if (row.length > 2) tokenize(row[2], terms.get(Field.INSTITUTE));
+            }
+            for (String entry : data.experience) tokenize(entry, terms.get(Field.EXPERIENCE));
+            for (Map.Entry<String, String> custom : data.customFields.entrySet()) {
+                tokenize(custom.getKey(), terms.get(Field.CUSTOM));
+                tokenize(custom.getValue(), terms.get(Field.CUSTOM));
+            }
+            return new Parsed(name, stamp, terms);
+        } catch (NoSuchFileException e) {
+            return new Parsed(name, null, null); // deleted meanwhile
+        } catch (IOException | RuntimeException e) {
+            // Not a draft (or half written); searchable again once it is saved properly
+            System.err.println("Draft index: skipping " + name + ": " + e.getMessage());
+            return new Parsed(name, null, null);
+        }
+    }
+
+    // Caller holds the write lock
+    private void put(Parsed parsed) {
+        remove(parsed.name());
+        if (parsed.terms() == null) return;
+        int number = names.size();
+        names.add(parsed.name());
+        stamps.add(parsed.stamp());
+        numberByName.put(parsed.name(), number);
+        live.set(number);
+        for (Field field : FIELDS) {
+            TreeMap<String, Postings> terms = postings.get(field);
+            for (String term : parsed.terms().get(field)) {
+                terms.computeIfAbsent(term, t -> new Postings()).add(number);
+            }
+        }
+        dirty = true;
+    }
+
+    // Caller holds the write lock
+    private void remove(String name) {
+        Integer number = numberByName.remove(name);
+        if (number == null) return;
+        live.clear(number);
+        names.set(number, null);
+        dirty = true;
+    }
+
+    static void tokenize(String text, Set<String> terms) {
+        if (text == null) return;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean word = i < text.length() && isWordChar(text.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                if (i - start <= MAX_TERM_LENGTH) terms.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '+' || c == '#';
+    }
+
+    // Renumbers the live drafts densely and drops dead numbers from every posting list.
+    // Caller holds the write lock.
+    private void compact() {
+        if (live.cardinality() == names.size()) return;
+        int[] renumber = new int[names.size()];
+        List<String> keptNames = new ArrayList<>();
+        List<long[]> keptStamps = new ArrayList<>();
+        for (int old = 0; old < names.size(); old++) {
+            if (live.get(old)) {
+                renumber[old] = keptNames.size();
+                keptNames.add(names.get(old));
+                keptStamps.add(stamps.get(old));
+            } else {
+                renumber[old] = -1;
+            }
+        }
+        for (TreeMap<String, Postings> terms : postings.values()) {
+            terms.values().removeIf(p -> {
+                int kept = 0;
+                for (int i = 0; i < p.size; i++) {
+                    int id = renumber[p.ids[i]];
+                    if (id >= 0) p.ids[kept++] = id;
+                }
+                p.size = kept;
+                return kept == 0;
+            });
+        }
+        names.clear();
+        names.addAll(keptNames);
+        stamps.clear();
+        stamps.addAll(keptStamps);
+        numberByName.clear();
+        for (int i = 0; i < names.size(); i++) numberByName.put(names.get(i), i);
+        live.clear();
+        live.set(0, names.size());
+    }
+
+    // ---- Searching ----
+
+    // Matching draft files, in file name order; IllegalArgumentException for a malformed query
+    public List<Path> search(String query) {
+        return search(query, Integer.MAX_VALUE);
+    }
+
+    // The first limit matches in file name order
+    public List<Path> search(String query, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet hits = evaluate(query);
+            // Keep only the limit smallest names, largest on top to be replaced first
+            PriorityQueue<String> first = new PriorityQueue<>(Comparator.reverseOrder());
+            for (int i = hits.nextSetBit(0); i >= 0; i = hits.nextSetBit(i + 1)) {
+                String name = names.get(i);
+                if (first.size() < limit) {
+                    first.add(name);
+                } else if (name.compareTo(first.peek()) < 0) {
+                    first.poll();
+                    first.add(name);
+                }
+            }
+            String[] found = first.toArray(new String[0]);
+            Arrays.sort(found);
+            List<Path> paths = new ArrayList<>(found.length);
+            for (String name : found) paths.add(draftsDir.resolve(name));
+            return paths;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int count(String query) {
+        lock.readLock().lock();
+        try {
+            return evaluate(query).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Caller holds the read lock
+    private BitSet evaluate(String query) {
+        BitSet hits = new QueryParser(query).parse();
+        hits.and(live);
+        return hits;
+    }
+
+    // Recursive descent over the query, evaluating as it goes. Caller holds the read lock.
+    private final class QueryParser {
+        private final List<String> tokens = new ArrayList<>();
+        private int pos;
+
+        QueryParser(String query) {
+            int i = 0;
+            while (i < query.length()) {
+                char c = query.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '(' || c == ')') {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else {
+                    // A word, possibly field:"quoted words"
+                    int start = i;
+                    while (i < query.length() && !Character.isWhitespace(query.charAt(i))
+                            && query.charAt(i) != '(' && query.charAt(i) != ')') {
+                        if (query.charAt(i) == '"') {
+                            int close = query.indexOf('"', i + 1);
+                            if (close < 0) throw new IllegalArgumentException("Unclosed quote in: " + query);
+                            i = close;
+                        }
+                        i++;
+                    }
+                    tokens.add(query.substring(start, i));
+                }
+            }
+        }
+
+        BitSet parse() {
+            if (tokens.isEmpty()) throw new IllegalArgumentException("Empty query");
+            BitSet result = or();
+            if (pos < tokens.size()) throw new IllegalArgumentException("Unexpected \"" + tokens.get(pos) + "\"");
+            return result;
+        }
+
+        private BitSet or() {
+            BitSet result = and();
+            while (accept("OR")) result.or(and());
+            return result;
+        }
+
+        private BitSet and() {
+            BitSet result = unary();
+            while (pos < tokens.size() && !peek("OR") && !peek(")")) {
+                accept("AND");
+                result.and(unary());
+            }
+            return result;
+        }
+
+        private BitSet unary() {
+            if (pos >= tokens.size()) throw new IllegalArgumentException("Query ends too early");
+            if (accept("NOT")) return not(unary());
+            if (accept("(")) {
+                BitSet inner = or();
+                if (!accept(")")) throw new IllegalArgumentException("Missing )");
+                return inner;
+            }
+            String token = tokens.get(pos++);
+            if (token.startsWith("-") && token.length() > 1) return not(term(token.substring(1)));
+            return term(token);
+        }
+
+        private BitSet not(BitSet bits) {
+            BitSet result = (BitSet) live.clone();
+            result.andNot(bits);
+            return result;
+        }
+
+        // word, word*, field:word, field:word*, "some words", field:"some words"
+        private BitSet term(String token) {
+            Field field = null;
+            int colon = token.indexOf(':');
+            if (colon > 0 && token.charAt(0) != '"') {
+                String fieldName = token.substring(0, colon).toLowerCase(Locale.ROOT);
+                for (Field f : FIELDS) {
+                    if (f.queryName.equals(fieldName)) field = f;
+                }
+                if (field == null) throw new IllegalArgumentException("Unknown field \"" + fieldName + "\"");
+                token = token.substring(colon + 1);
+            }
+            boolean prefix = token.endsWith("*") && !token.startsWith("\"");
+            String text = prefix ? token.substring(0, token.length() - 1) : token.replace("\"", "");
+
+            Set<String> words = new LinkedHashSet<>();
+            tokenize(text, words);
+            if (words.isEmpty()) throw new IllegalArgumentException("Nothing to search for in \"" + token + "\"");
+
+            BitSet result = null;
+            for (String word : words) {
+                BitSet bits = new BitSet();
+                for (Field f : FIELDS) {
+                    if (field != null && f != field) continue;
+                    TreeMap<String, Postings> terms = postings.get(f);
+                    if (prefix) {
+                        NavigableMap<String, Postings> range = terms.subMap(word, true, word + Character.MAX_VALUE, false);
+                        for (Postings p : range.values()) p.addTo(bits);
+                    } else {
+                        Postings p = terms.get(word);
+                        if (p != null) p.addTo(bits);
+                    }
+                }
+                if (result == null) {
+                    result = bits;
+                } else {
+                    result.and(bits);
+                }
+            }
+            return result;
+        }
+
+        private boolean peek(String token) {
+            return pos < tokens.size() && tokens.get(pos).equals(token);
+        }
+
+        private boolean accept(String token) {
+            if (!peek(token)) return false;
+            pos++;
+            return true;
+        }
+    }
+
+    // ---- Persistence ----
+
+    private void load() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile), 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) throw new IOException("Not a draft index");
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                names.add(name);
+                stamps.add(new long[] {in.readLong(), in.readLong()});
+                numberByName.put(name, i);
+            }
+            live.set(0, count);
+            for (Field field : FIELDS) {
+                TreeMap<String, Postings> terms = postings.get(field);
+                int termCount = in.readInt();
+                for (int t = 0; t < termCount; t++) {
+                    String term = in.readUTF();
+                    Postings p = new Postings();
+                    p.size = in.readInt();
+                    p.ids = new int[Math.max(2, p.size)];
+                    int id = 0;
+                    for (int i = 0; i < p.size; i++) {
+                        id += readVarInt(in);
+                        if (id >= count) throw new IOException("Corrupt draft index");
+                        p.ids[i] = id;
+                    }
+                    terms.put(term, p);
+                }
+            }
+        }
+    }
+
+    // Only compaction, which renumbers drafts, takes the write lock. The file is written
+    // under the read lock, so searches keep running; edits wait until it is done.
+    public void save() throws IOException {
+        synchronized (saveLock) {
+            lock.writeLock().lock();
+            try {
+                compact();
+                dirty = false;
+                // Downgrade: taking the read lock before letting go of the write lock
+                // leaves no gap for an edit to slip into the file half-written
+                lock.readLock().lock();
+            } finally {
+                lock.writeLock().unlock();
+            }
+            boolean saved = false;
+            try {
+                writeFile();
+                saved = true;
+            } finally {
+                lock.readLock().unlock();
+                if (!saved) {
+                    lock.writeLock().lock();
+                    try {
+                        dirty = true;
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+            }
+        }
+    }
+
+    // Caller holds the read lock
+    private void writeFile() throws IOException {
+        // Same directory as the target, so the rename never crosses file systems
+        Path temp = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(names.size());
+                for (int i = 0; i < names.size(); i++) {
+                    out.writeUTF(names.get(i));
+                    out.writeLong(stamps.get(i)[0]);
+                    out.writeLong(stamps.get(i)[1]);
+                }
+                for (Field field : FIELDS) {
+                    TreeMap<String, Postings> terms = postings.get(field);
+                    out.writeInt(terms.size());
+                    for (Map.Entry<String, Postings> entry : terms.entrySet()) {
+                        Postings p = entry.getValue();
+                        out.writeUTF(entry.getKey());
+                        out.writeInt(p.size);
+                        int previous = 0;
+                        for (int i = 0; i < p.size; i++) {
+                            writeVarInt(out, p.ids[i] - previous);
+                            previous = p.ids[i];
+                        }
+                    }
+                }
+            }
+            try {
+                Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void saveIfChanged() throws IOException {
+        if (dirty) save();
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Corrupt draft index");
+    }
+
+    // Stops watching and writes any pending changes
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (watcher != null) {
+                watcher.close();
+                watchThread.interrupt();
+                watcher = null;
+            }
+        }
+        saveIfChanged();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java DraftIndex <draftsDir> [query]");
+            System.exit(1);
+        }
+        long start = System.nanoTime();
+        try (DraftIndex index = open(Paths.get(args[0]))) {
+            System.out.printf("%d drafts indexed in %.0f ms%n", index.size(), (System.nanoTime() - start) / 1e6);
+            if (args.length > 1) {
+                search(index, String.join(" ", Arrays.copyOfRange(args, 1, args.length)));
+                return;
+            }
+            index.watch();
+            BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+            System.out.print("query> ");
+            for (String line; (line = in.readLine()) != null; System.out.print("query> ")) {
+                if (!line.isBlank()) search(index, line);
+            }
+        }
+    }
+
+    private static void search(DraftIndex index, String query) {
+        try {
+            long start = System.nanoTime();
+            int count = index.count(query);
+            List<Path> first = index.search(query, 20);
+            double millis = (System.nanoTime() - start) / 1e6;
+            for (Path hit : first) System.out.println("  " + hit.getFileName());
+            if (count > first.size()) System.out.println("  ...");
+            System.out.printf("%d drafts in %.2f ms%n", count, millis);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+}
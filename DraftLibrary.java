@@ -0,0 +1,342 @@
+// A window listing every draft in a folder with its name, email, template and last change.
+//
+// Opening a folder only lists its files (names and modification times), newest first,
+// so the table fills at once. A background task then reads name, email and template a
+// page at a time with DraftStore.readHeader, which stops after the first few fields of
+// each file; rows show their file name until their page arrives. The table creates
+// cells only for the visible rows, so thousands of drafts scroll smoothly. A draft is
+// parsed in full only when it is opened (double-click, Enter or Open).
+
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Alert;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.input.KeyCode;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.stage.DirectoryChooser;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+public final class DraftLibrary {
+
+    // Headers read per trip to the JavaFX thread
+    static final int PAGE_SIZE = 200;
+
+    private static final DateTimeFormatter MODIFIED_FORMAT = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT);
+
+    // One row; the header properties are filled in on the JavaFX thread when its page is read
+    private static final class Entry {
+        final Path file;
+        final LocalDateTime modified;
+        final StringProperty fullName = new SimpleStringProperty();
+        final StringProperty email = new SimpleStringProperty("");
+        final StringProperty template = new SimpleStringProperty("");
+
+        Entry(Path file, Instant modified) {
+            this.file = file;
+            this.modified = LocalDateTime.ofInstant(modified, ZoneId.systemDefault());
+            String name = file.getFileName().toString();
+            fullName.set(name.substring(0, name.length() - ".json".length()));
+        }
+    }
+
+    private final Localizer i18n = Localizer.getInstance();
+    private final BiConsumer<Path, ResumeData> onOpen;
+    private final Stage stage = new Stage();
+    private final ObservableList<Entry> entries = FXCollections.observableArrayList();
+    private final FilteredList<Entry> filtered = new FilteredList<>(entries);
+    private final TableView<Entry> table = new TableView<>();
+    private final TextField filter = new TextField();
+    private final Label folderLabel = new Label();
+    private final Label status = new Label();
+    private final ProgressBar progress = new ProgressBar(0);
+
+    // Off the JavaFX thread; two threads so opening a draft never waits for a listing
+    private final ExecutorService loader = Executors.newFixedThreadPool(2, r -> {
+        Thread t = new Thread(r, "draft-library");
+        t.setDaemon(true);
+        return t;
+    });
+    private Task<?> loading;
+    private Path folder;
+
+    // onOpen receives each draft the user opens, fully parsed, on the JavaFX thread
+    public DraftLibrary(Window owner, BiConsumer<Path, ResumeData> onOpen) {
+        this.onOpen = onOpen;
+
+        TableColumn<Entry, String> nameColumn = column("label.name", e -> e.fullName);
+        TableColumn<Entry, String> emailColumn = column("label.email", e -> e.email);
+        TableColumn<Entry, String> templateColumn = column("library.template", e -> e.template);
+        TableColumn<Entry, LocalDateTime> modifiedColumn = new TableColumn<>();
+        modifiedColumn.textProperty().bind(i18n.text("library.modified"));
+        modifiedColumn.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(c.getValue().modified));
+        modifiedColumn.setCellFactory(c -> new TableCell<>() {
+            @Override
+            protected void updateItem(LocalDateTime modified, boolean empty) {
+                super.updateItem(modified, empty);
+                setText(empty || modified == null ? null : MODIFIED_FORMAT.format(modified));
+            }
+        });
+        nameColumn.setPrefWidth(200);
+        emailColumn.setPrefWidth(220);
+        templateColumn.setPrefWidth(100);
+        modifiedColumn.setPrefWidth(140);
+        table.getColumns().add(nameColumn);
+        table.getColumns().add(emailColumn);
+        table.getColumns().add(templateColumn);
+        table.getColumns().add(modifiedColumn);
+
+        SortedList<Entry> sorted = new SortedList<>(filtered);
+        sorted.comparatorProperty().bind(table.comparatorProperty());
+        table.setItems(sorted);
+        table.setRowFactory(t -> {
+            TableRow<Entry> row = new TableRow<>();
+            row.setOnMouseClicked(e -> {
+                if (e.getClickCount() == 2 && !row.isEmpty()) open(row.getItem());
+            });
+            return row;
+        });
+        table.setOnKeyPressed(e -> {
+            if (e.getCode() == KeyCode.ENTER) openSelected();
+        });
+        VBox.setVgrow(table, Priority.ALWAYS);
+
+        filter.promptTextProperty().bind(i18n.text("library.filter"));
+        filter.textProperty().addListener((obs, old, text) -> applyFilter());
+        HBox.setHgrow(filter, Priority.ALWAYS);
+
+        Button chooseButton = button("button.chooseFolder");
+        chooseButton.setOnAction(e -> chooseFolder());
+        Button openButton = button("button.open");
+        openButton.setOnAction(e -> openSelected());
+        openButton.disableProperty().bind(table.getSelectionModel().selectedItemProperty().isNull());
+
+        HBox top = new HBox(10, chooseButton, folderLabel);
+        top.setAlignment(Pos.CENTER_LEFT);
+        progress.setPrefWidth(120);
+        progress.managedProperty().bind(progress.visibleProperty());
+        progress.setVisible(false);
+        HBox bottom = new HBox(10, filter, progress, status, openButton);
+        bottom.setAlignment(Pos.CENTER_LEFT);
+
+        VBox root = new VBox(10, top, table, bottom);
+        root.setPadding(new Insets(10));
+        Scene scene = new Scene(root, 720, 520);
+        if (owner != null && owner.getScene() != null) {
+            scene.getStylesheets().setAll(owner.getScene().getStylesheets());
+        }
+        stage.setScene(scene);
+        stage.initOwner(owner);
+        stage.titleProperty().bind(i18n.text("library.title"));
+    }
+
+    // Shows the window; a new or unchanged folder is (re)listed so saves made since show up
+    public void show(Path folder) {
+        stage.show();
+        stage.toFront();
+        if (folder != null) {
+            load(folder);
+        } else if (this.folder == null) {
+            chooseFolder();
+        }
+    }
+
+    public Path getFolder() {
+        return folder;
+    }
+
+    // Stops background work; the window cannot be shown again
+    public void dispose() {
+        if (loading != null) loading.cancel();
+        loader.shutdownNow();
+        stage.close();
+    }
+
+    private void chooseFolder() {
+        DirectoryChooser chooser = new DirectoryChooser();
+        chooser.setTitle("Choose Drafts Folder");
+        if (folder != null && Files.isDirectory(folder)) chooser.setInitialDirectory(folder.toFile());
+        File chosen = chooser.showDialog(stage);
+        if (chosen != null) load(chosen.toPath());
+    }
+
+    private void load(Path folder) {
+        if (loading != null) loading.cancel();
+        this.folder = folder;
+        folderLabel.setText(folder.toString());
+        entries.clear();
+
+        ListingTask task = new ListingTask(folder);
+        task.setOnFailed(e -> {
+            loadFinished(task);
+            status.setText("Cannot read folder: " + task.getException().getMessage());
+        });
+        task.setOnSucceeded(e -> loadFinished(task));
+        task.setOnCancelled(e -> loadFinished(task));
+        loading = task;
+        status.textProperty().bind(task.messageProperty());
+        progress.progressProperty().bind(task.progressProperty());
+        progress.setVisible(true);
+        loader.execute(task);
+    }
+
+    private void loadFinished(Task<?> task) {
+        if (loading != task) return; // superseded by a newer load
+        status.textProperty().unbind();
+        progress.progressProperty().unbind();
+        progress.setVisible(false);
+        loading = null;
+    }
+
+    // Lists the folder, then reads the headers page by page
+    private final class ListingTask extends Task<Void> {
+        private final Path folder;
+
+        ListingTask(Path folder) {
+            this.folder = folder;
+        }
+
+        @Override
+        protected Void call() throws IOException {
+            updateMessage("Listing drafts");
+            List<Entry> found = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(folder, "*.json")) {
+                for (Path p : stream) {
+                    BasicFileAttributes attrs = Files.readAttributes(p, BasicFileAttributes.class);
+                    if (attrs.isRegularFile()) found.add(new Entry(p, attrs.lastModifiedTime().toInstant()));
+                }
+            }
+            found.sort(Comparator.comparing((Entry e) -> e.modified).reversed());
+            if (isCancelled()) return null;
+            // runLater keeps order, so every page below lands after the rows exist
+            Platform.runLater(() -> {
+                if (!isCancelled()) entries.setAll(found);
+            });
+
+            for (int from = 0; from < found.size(); from += PAGE_SIZE) {
+                if (isCancelled()) return null;
+                int to = Math.min(from + PAGE_SIZE, found.size());
+                List<Entry> page = found.subList(from, to);
+                DraftStore.Header[] headers = new DraftStore.Header[page.size()];
+                for (int i = 0; i < headers.length; i++) {
+                    try {
+                        headers[i] = DraftStore.readHeader(page.get(i).file);
+                    } catch (IOException | RuntimeException e) {
+                        headers[i] = null; // not a draft; keeps its file name
+                    }
+                }
+                Platform.runLater(() -> {
+                    if (!isCancelled()) applyHeaders(page, headers);
+                });
+                updateProgress(to, found.size());
+                updateMessage(String.format("%,d drafts, %,d read", found.size(), to));
+            }
+            updateMessage(String.format("%,d drafts", found.size()));
+            return null;
+        }
+    }
+
+    private void applyHeaders(List<Entry> page, DraftStore.Header[] headers) {
+        for (int i = 0; i < headers.length; i++) {
+            DraftStore.Header header = headers[i];
+            if (header == null) continue;
+            Entry entry = page.get(i);
+            if (!header.fullName.isBlank()) entry.fullName.set(header.fullName);
+            entry.email.set(header.email);
+            entry.template.set(header.selectedTemplate);
+        }
+        // Rows whose names just arrived may now match, or stop matching
+        if (!filter.getText().isBlank()) applyFilter();
+    }
+
+    private void applyFilter() {
+        String text = filter.getText().trim().toLowerCase(Locale.ROOT);
+        if (text.isEmpty()) {
+            filtered.setPredicate(null);
+        } else {
+            filtered.setPredicate(e -> e.fullName.get().toLowerCase(Locale.ROOT).contains(text)
+                    || e.email.get().toLowerCase(Locale.ROOT).contains(text));
+        }
+    }
+
+    private void openSelected() {
+        Entry selected = table.getSelectionModel().getSelectedItem();
+        if (selected != null) open(selected);
+    }
+
+    // The one place a draft is parsed in full
+    private void open(Entry entry) {
+        Task<ResumeData> task = new Task<>() {
+            @Override
+            protected ResumeData call() throws IOException {
+                ResumeEvents.DraftIO event = new ResumeEvents.DraftIO("load", "json");
+                ResumeData data = DraftStore.load(entry.file);
+                event.bytes = Files.size(entry.file);
+                ResumeMetrics.getInstance().record(event);
+                return data;
+            }
+        };
+        task.setOnSucceeded(e -> onOpen.accept(entry.file, task.getValue()));
+        task.setOnFailed(e -> {
+            Alert alert = new Alert(Alert.AlertType.ERROR);
+            alert.initOwner(stage);
+            alert.setTitle("Error");
+            alert.setHeaderText(null);
+            alert.setContentText("Failed to load draft:\n" + task.getException().getMessage());
+            alert.showAndWait();
+        });
+        loader.execute(task);
+    }
+
+    private TableColumn<Entry, String> column(String key, Function<Entry, StringProperty> property) {
+        TableColumn<Entry, String> column = new TableColumn<>();
+        column.textProperty().bind(i18n.text(key));
+        column.setCellValueFactory(c -> property.apply(c.getValue()));
+        return column;
+    }
+
+    private Button button(String key) {
+        Button button = new Button();
+        button.textProperty().bind(i18n.text(key));
+        return button;
+    }
+}
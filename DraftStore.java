@@ -0,0 +1,282 @@
+// Reads and writes resume drafts as JSON with a hand-written streaming adapter.
+// Files are always UTF-8, saves go to a temp file that is atomically renamed over
+// the target, and every draft carries a schema version so older drafts migrate on read.
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class DraftStore {
+
+    // 1: drafts written before versioning (Gson reflection, no "schemaVersion" key)
+    // 2: streaming format, header fields first, five-column education rows
+    public static final int SCHEMA_VERSION = 2;
+
+    public static final TypeAdapter<ResumeData> ADAPTER = new TypeAdapter<>() {
+        @Override
+        public void write(JsonWriter out, ResumeData data) throws IOException {
+            writeDraft(out, data);
+        }
+
+        @Override
+        public ResumeData read(JsonReader in) throws IOException {
+            return readDraft(in);
+        }
+    };
+
+    // What a draft listing shows, without the rest of the draft
+    public static final class Header {
+        public final String fullName;
+        public final String email;
+        public final String selectedTemplate;
+
+        Header(String fullName, String email, String selectedTemplate) {
+            this.fullName = fullName;
+            this.email = email;
+            this.selectedTemplate = selectedTemplate;
+        }
+    }
+
+    private DraftStore() {}
+
+    public static void save(ResumeData data, Path file) throws IOException {
+        // Same directory as the target, so the rename never crosses file systems
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(temp);
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(os, StandardCharsets.UTF_8))) {
+                write(data, writer, true);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    public static ResumeData load(Path file) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    // Reads only name, email and template. Current drafts start with them, so reading stops
+    // after the first few hundred bytes; older drafts are skipped through until all three are seen.
+    public static Header readHeader(Path file) throws IOException {
+        // JsonReader buffers on its own; a BufferedReader would only add a 16 KB allocation per file
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            return readHeader(reader);
+        }
+    }
+
+    public static Header readHeader(Reader reader) throws IOException {
+        JsonReader in = new JsonReader(reader);
+        String fullName = null;
+        String email = null;
+        String template = null;
+        in.beginObject();
+        while (in.hasNext() && (fullName == null || email == null || template == null)) {
+            String name = in.nextName();
+            if (in.peek() != JsonToken.STRING) {
+                in.skipValue();
+                continue;
+            }
+            switch (name) {
+                case "fullName": fullName = in.nextString(); break;
+                case "email": email = in.nextString(); break;
+                case "selectedTemplate": template = in.nextString(); break;
+                default: in.skipValue(); break;
+            }
+        }
+        // Defaults as in ResumeData for whatever the draft leaves out
+        return new Header(fullName == null ? "" : fullName, email == null ? "" : email,
+                template == null ? new ResumeData().selectedTemplate : template);
+    }
+
+    public static void write(ResumeData data, Writer writer, boolean pretty) throws IOException {
+        JsonWriter out = new JsonWriter(writer);
+        if (pretty) out.setIndent("  ");
+        writeDraft(out, data);
+        out.flush();
+    }
+
+    public static ResumeData read(Reader reader) throws IOException {
+        return readDraft(new JsonReader(reader));
+    }
+
+    private static void writeDraft(JsonWriter out, ResumeData data) throws IOException {
+        out.beginObject();
+        // Header fields come first so library listings can stop reading early
+        out.name("schemaVersion").value(SCHEMA_VERSION);
+        out.name("fullName").value(data.fullName);
+        out.name("email").value(data.email);
+        out.name("phone").value(data.phone);
+        out.name("selectedTemplate").value(data.selectedTemplate);
+        out.name("objective").value(data.objective);
+        out.name("profilePhotoPath").value(data.profilePhotoPath);
+
+        out.name("education").beginArray();
+        for (String[] row : data.education) {
+            out.beginArray();
+            for (String column : row) out.value(column);
+            out.endArray();
+        }
+        out.endArray();
+
+        writeList(out, "skills", data.skills);
+        writeList(out, "projects", data.projects);
+        writeList(out, "internships", data.internships);
+        writeList(out, "experience", data.experience);
+
+        writeMap(out, "customFields", data.customFields);
+
+        out.name("fontColor").value(data.fontColor);
+        out.name("fontStyle").value(data.fontStyle);
+        out.name("fontSize").value(data.fontSize);
+        out.name("margin").value(data.margin);
+        out.name("bold").value(data.bold);
+        out.name("italic").value(data.italic);
+
+        out.name("linkedin").value(data.linkedin);
+        out.name("github").value(data.github);
+        writeList(out, "awards", data.awards);
+        writeList(out, "certificates", data.certificates);
+        writeList(out, "licenses", data.licenses);
+        writeMap(out, "fields", data.fields);
+        out.endObject();
+    }
+
+    private static void writeList(JsonWriter out, String name, List<String> items) throws IOException {
+        out.name(name).beginArray();
+        for (String item : items) out.value(item);
+        out.endArray();
+    }
+
+    private static void writeMap(JsonWriter out, String name, Map<String, String> entries) throws IOException {
+        out.name(name).beginObject();
+        for (Map.Entry<String, String> entry : entries.entrySet()) {
+            out.name(entry.getKey()).value(entry.getValue());
+        }
+        out.endObject();
+    }
+
+    private static ResumeData readDraft(JsonReader in) throws IOException {
+        ResumeData data = new ResumeData();
+        int version = 1;
+
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            if (in.peek() == JsonToken.NULL) {
+                // Keep the default for explicit nulls
+                in.nextNull();
+                continue;
+            }
+            switch (name) {
+                case "schemaVersion": version = in.nextInt(); break;
+                case "fullName": data.fullName = in.nextString(); break;
+                case "email": data.email = in.nextString(); break;
+                case "phone": data.phone = in.nextString(); break;
+                case "selectedTemplate": data.selectedTemplate = in.nextString(); break;
+                case "objective": data.objective = in.nextString(); break;
+                case "profilePhotoPath": data.profilePhotoPath = in.nextString(); break;
+                case "education": readEducation(in, data.education); break;
+                case "skills": readList(in, data.skills); break;
+                case "projects": readList(in, data.projects); break;
+                case "internships": readList(in, data.internships); break;
+                case "experience": readList(in, data.experience); break;
+                case "customFields": readMap(in, data.customFields); break;
+                case "fontColor": data.fontColor = in.nextString(); break;
+                case "fontStyle": data.fontStyle = in.nextString(); break;
+                case "fontSize": data.fontSize = in.nextInt(); break;
+                case "margin": data.margin = in.nextInt(); break;
+                case "bold": data.bold = in.nextBoolean(); break;
+                case "italic": data.italic = in.nextBoolean(); break;
+                case "linkedin": data.linkedin = in.nextString(); break;
+                case "github": data.github = in.nextString(); break;
+                case "awards": readList(in, data.awards); break;
+                case "certificates": readList(in, data.certificates); break;
+                case "licenses": readList(in, data.licenses); break;
+                case "fields": readMap(in, data.fields); break;
+                default: in.skipValue(); break;
+            }
+        }
+        in.endObject();
+
+        migrate(data, version);
+        return data;
+    }
+
+    private static void migrate(ResumeData data, int version) throws IOException {
+        if (version > SCHEMA_VERSION) {
+            throw new IOException("Draft was saved by a newer version (schema " + version + ")");
+        }
+        if (version < 2) {
+            // Version 1 rows may lack the year column (course, stream, institute, grade)
+            for (int i = 0; i < data.education.size(); i++) {
+                String[] row = data.education.get(i);
+                if (row.length < 5) {
+                    String[] padded = new String[5];
+                    for (int c = 0; c < 5; c++) padded[c] = c < row.length && row[c] != null ? row[c] : "";
+                    data.education.set(i, padded);
+                }
+            }
+        }
+    }
+
+    private static void readMap(JsonReader in, Map<String, String> entries) throws IOException {
+        in.beginObject();
+        while (in.hasNext()) {
+            String key = in.nextName();
+            entries.put(key, readNullableString(in));
+        }
+        in.endObject();
+    }
+
+    private static void readEducation(JsonReader in, List<String[]> education) throws IOException {
+        in.beginArray();
+        while (in.hasNext()) {
+            List<String> row = new ArrayList<>(5);
+            readList(in, row);
+            education.add(row.toArray(new String[0]));
+        }
+        in.endArray();
+    }
+
+    private static void readList(JsonReader in, List<String> list) throws IOException {
+        in.beginArray();
+        while (in.hasNext()) {
+            list.add(readNullableString(in));
+        }
+        in.endArray();
+    }
+
+    private static String readNullableString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return "";
+        }
+        return in.nextString();
+    }
+}
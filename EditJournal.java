@@ -0,0 +1,444 @@
+// Crash-safe autosave. Every edit is appended to a journal file as a small delta
+// record by a background thread, so the FX thread never waits on disk I/O.
+// The writer keeps a replayed copy of the draft and periodically compacts the
+// journal into a single snapshot record; after a crash recover() replays it.
+//
+// Record layout: byte op, then
+//   SNAPSHOT      int length + UTF-8 JSON draft
+//   SET_FIELD     string key, string value
+//   ADD_ENTRY     byte section, int index
+//   REMOVE_ENTRY  byte section, int index
+//   SET_ENTRY     byte section, int index, byte column, string value
+//   REMOVE_CUSTOM string key
+// Strings are an int byte length followed by UTF-8 bytes.
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+public class EditJournal implements ResumeDocument.EditListener {
+
+    // Sections of ResumeData that hold entry lists
+    public static final int EDUCATION = 0;
+    public static final int SKILLS = 1;
+    public static final int INTERNSHIPS = 2;
+    public static final int EXPERIENCE = 3;
+    public static final int PROJECTS = 4;
+
+    public static final String CUSTOM_PREFIX = "custom:";
+
+    private static final byte SNAPSHOT = 1;
+    private static final byte SET_FIELD = 2;
+    private static final byte ADD_ENTRY = 3;
+    private static final byte REMOVE_ENTRY = 4;
+    private static final byte SET_ENTRY = 5;
+    private static final byte REMOVE_CUSTOM = 6;
+
+    private static final String JOURNAL_FILE = "autosave.journal";
+    // Compact once the journal grows past this many bytes
+    private static final long COMPACT_THRESHOLD = 256 * 1024;
+
+    private static final class Edit {
+        final byte op;
+        final int section;
+        final int index;
+        final int column;
+        final String key;
+        final String value;
+        final ResumeData snapshot;
+
+        Edit(byte op, int section, int index, int column, String key, String value, ResumeData snapshot) {
+            this.op = op;
+            this.section = section;
+            this.index = index;
+            this.column = column;
+            this.key = key;
+            this.value = value;
+            this.snapshot = snapshot;
+        }
+    }
+
+    private static final Edit CLOSE = new Edit((byte) 0, 0, 0, 0, null, null, null);
+
+    private final Path journalFile;
+    private final BlockingQueue<Edit> pending = new LinkedBlockingQueue<>();
+    private final Thread writerThread;
+
+    // Owned by the writer thread only
+    private ResumeData state;
+    private DataOutputStream out;
+    private long journalBytes;
+
+    public EditJournal(Path dir, ResumeData initialState) {
+        this.journalFile = dir.resolve(JOURNAL_FILE);
+        pending.add(new Edit(SNAPSHOT, 0, 0, 0, null, null, initialState));
+        writerThread = new Thread(this::writeLoop, "resume-autosave");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    public static Path defaultDirectory() {
+        return Paths.get(System.getProperty("resume.autosaveDir",
+                Paths.get(System.getProperty("user.home"), ".resumemaker").toString()));
+    }
+
+    // ---- Recording, called from the FX thread; these only enqueue ----
+
+    @Override
+    public void setField(String key, String value) {
+        pending.add(new Edit(SET_FIELD, 0, 0, 0, key, value == null ? "" : value, null));
+    }
+
+    @Override
+    public void addEntry(int section, int index) {
+        pending.add(new Edit(ADD_ENTRY, section, index, 0, null, null, null));
+    }
+
+    @Override
+    public void removeEntry(int section, int index) {
+        pending.add(new Edit(REMOVE_ENTRY, section, index, 0, null, null, null));
+    }
+
+    @Override
+    public void setEntry(int section, int index, int column, String value) {
+        pending.add(new Edit(SET_ENTRY, section, index, column, null, value == null ? "" : value, null));
+    }
+
+    @Override
+    public void removeCustomField(String name) {
+        pending.add(new Edit(REMOVE_CUSTOM, 0, 0, 0, name, null, null));
+    }
+
+    // Replaces the journal with a full snapshot, e.g. after a draft was loaded.
+    // The snapshot is handed over to the writer thread and must not be modified afterwards.
+    public void reset(ResumeData snapshot) {
+        pending.add(new Edit(SNAPSHOT, 0, 0, 0, null, null, snapshot));
+    }
+
+    // Clean shutdown: flushes pending edits and, if requested, drops the journal
+    public void close(boolean discard) {
+        pending.add(CLOSE);
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (discard) {
+            try {
+                Files.deleteIfExists(journalFile);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // ---- Writer thread ----
+
+    private void writeLoop() {
+        List<Edit> batch = new ArrayList<>();
+        boolean closing = false;
+        try {
+            while (!closing) {
+                batch.add(pending.take());
+                pending.drainTo(batch);
+                try {
+                    for (int i = 0; i < batch.size(); i++) {
+                        Edit edit = batch.get(i);
+                        if (edit == CLOSE) {
+                            closing = true;
+                            break;
+                        }
+                        // Keystrokes arrive in bursts: only the last value of a field in a batch is written
+                        if (i + 1 < batch.size() && supersedes(batch.get(i + 1), edit)) continue;
+                        write(edit);
+                    }
+                    if (out != null) out.flush();
+                    if (journalBytes > COMPACT_THRESHOLD) {
+                        compact();
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // Autosave is best effort; a failing disk must not take the editor down
+                    e.printStackTrace();
+                    closeQuietly();
+                }
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    private static boolean supersedes(Edit next, Edit edit) {
+        if (next.op != edit.op) return false;
+        if (edit.op == SET_FIELD) return next.key.equals(edit.key);
+        if (edit.op == SET_ENTRY) {
+            return next.section == edit.section && next.index == edit.index && next.column == edit.column;
+        }
+        return false;
+    }
+
+    private void write(Edit edit) throws IOException {
+        if (edit.op == SNAPSHOT) {
+            state = edit.snapshot;
+            compact();
+            return;
+        }
+        apply(state, edit);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        writeRecord(new DataOutputStream(bytes), edit);
+        ensureOpen();
+        bytes.writeTo(out);
+        journalBytes += bytes.size();
+    }
+
+    // Rewrites the journal as a single snapshot of the replayed state, then swaps it in atomically
+    private void compact() throws IOException {
+        closeQuietly();
+        Files.createDirectories(journalFile.getParent());
+        Path temp = journalFile.resolveSibling(JOURNAL_FILE + ".tmp");
+        try (DataOutputStream snapshotOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            writeSnapshot(snapshotOut, state);
+        }
+        try {
+            Files.move(temp, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, journalFile, StandardCopyOption.REPLACE_EXISTING);
+        }
+        journalBytes = Files.size(journalFile);
+    }
+
+    private void ensureOpen() throws IOException {
+        if (out == null) {
+            out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(journalFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)));
+        }
+    }
+
+    private void closeQuietly() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            out = null;
+        }
+    }
+
+    private static void writeSnapshot(DataOutputStream out, ResumeData data) throws IOException {
+        ByteArrayOutputStream json = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(json, StandardCharsets.UTF_8)) {
+            DraftStore.write(data, writer, false);
+        }
+        out.writeByte(SNAPSHOT);
+        out.writeInt(json.size());
+        json.writeTo(out);
+    }
+
+    private static void writeRecord(DataOutputStream out, Edit edit) throws IOException {
+        out.writeByte(edit.op);
+        switch (edit.op) {
+            case SET_FIELD:
+                writeString(out, edit.key);
+                writeString(out, edit.value);
+                break;
+            case ADD_ENTRY:
+            case REMOVE_ENTRY:
+                out.writeByte(edit.section);
+                out.writeInt(edit.index);
+                break;
+            case SET_ENTRY:
+                out.writeByte(edit.section);
+                out.writeInt(edit.index);
+                out.writeByte(edit.column);
+                writeString(out, edit.value);
+                break;
+            case REMOVE_CUSTOM:
+                writeString(out, edit.key);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown journal op " + edit.op);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    // ---- Recovery ----
+
+    // Returns the state of the last session, or null if it ended cleanly or made no edits
+    // after its last snapshot (every session journals the state it started from, so that
+    // alone is nothing to recover; such a journal is deleted). A journal that cannot be
+    // replayed is moved aside to autosave.journal.corrupt, so the next launch starts
+    // cleanly, and reported as an IOException.
+    public static ResumeData recover(Path dir) throws IOException {
+        Path file = dir.resolve(JOURNAL_FILE);
+        if (!Files.exists(file)) return null;
+
+        byte[] journal = Files.readAllBytes(file);
+        try {
+            ResumeData state = replay(journal);
+            if (state == null) Files.deleteIfExists(file);
+            return state;
+        } catch (IOException | RuntimeException e) {
+            Path aside = file.resolveSibling(JOURNAL_FILE + ".corrupt");
+            Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+            throw new IOException("Corrupt autosave journal, moved to " + aside, e);
+        }
+    }
+
+    // The replayed state, or null when no edit follows the last snapshot
+    private static ResumeData replay(byte[] journal) throws IOException {
+        ResumeData state = new ResumeData();
+        boolean edited = false;
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(journal));
+        while (in.available() > 0) {
+            int op = in.readUnsignedByte();
+            try {
+                if (op == SNAPSHOT) {
+                    byte[] json = readBytes(in);
+                    state = DraftStore.read(new InputStreamReader(new ByteArrayInputStream(json), StandardCharsets.UTF_8));
+                    edited = false;
+                } else {
+                    apply(state, readRecord(in, (byte) op));
+                    edited = true;
+                }
+            } catch (EOFException torn) {
+                // The process died in the middle of a record; everything before it is intact
+                break;
+            }
+        }
+        return edited ? state : null;
+    }
+
+    private static Edit readRecord(DataInputStream in, byte op) throws IOException {
+        switch (op) {
+            case SET_FIELD:
+                return new Edit(op, 0, 0, 0, readString(in), readString(in), null);
+            case ADD_ENTRY:
+            case REMOVE_ENTRY:
+                return new Edit(op, in.readUnsignedByte(), in.readInt(), 0, null, null, null);
+            case SET_ENTRY: {
+                int section = in.readUnsignedByte();
+                int index = in.readInt();
+                int column = in.readUnsignedByte();
+                return new Edit(op, section, index, column, null, readString(in), null);
+            }
+            case REMOVE_CUSTOM:
+                return new Edit(op, 0, 0, 0, readString(in), null, null);
+            default:
+                throw new IOException("Corrupt autosave journal (op " + op + ")");
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(readBytes(in), StandardCharsets.UTF_8);
+    }
+
+    // in reads from memory, so available() is exactly what is left of the journal. A length
+    // running past the end is a record cut short by a crash; a negative one is damage.
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) throw new IOException("Corrupt autosave journal (length " + length + ")");
+        if (length > in.available()) throw new EOFException();
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    // ---- Replay ----
+
+    private static void apply(ResumeData data, Edit edit) {
+        switch (edit.op) {
+            case SET_FIELD:
+                setField(data, edit.key, edit.value);
+                break;
+            case ADD_ENTRY:
+                if (edit.section == EDUCATION) {
+                    if (edit.index >= 0 && edit.index <= data.education.size()) {
+                        data.education.add(edit.index, new String[] {"", "", "", "", ""});
+                    }
+                } else {
+                    List<String> list = list(data, edit.section);
+                    if (edit.index >= 0 && edit.index <= list.size()) list.add(edit.index, "");
+                }
+                break;
+            case REMOVE_ENTRY: {
+                List<?> list = edit.section == EDUCATION ? data.education : list(data, edit.section);
+                if (edit.index >= 0 && edit.index < list.size()) list.remove(edit.index);
+                break;
+            }
+            case SET_ENTRY:
+                if (edit.section == EDUCATION) {
+                    if (edit.index >= 0 && edit.index < data.education.size()) {
+                        String[] row = data.education.get(edit.index);
+                        if (edit.column >= 0 && edit.column < row.length) row[edit.column] = edit.value;
+                    }
+                } else {
+                    List<String> list = list(data, edit.section);
+                    if (edit.index >= 0 && edit.index < list.size()) list.set(edit.index, edit.value);
+                }
+                break;
+            case REMOVE_CUSTOM:
+                data.customFields.remove(edit.key);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static List<String> list(ResumeData data, int section) {
+        switch (section) {
+            case SKILLS: return data.skills;
+            case INTERNSHIPS: return data.internships;
+            case EXPERIENCE: return data.experience;
+            case PROJECTS: return data.projects;
+            default: throw new IllegalArgumentException("Unknown section " + section);
+        }
+    }
+
+    private static void setField(ResumeData data, String key, String value) {
+        if (key.startsWith(CUSTOM_PREFIX)) {
+            data.customFields.put(key.substring(CUSTOM_PREFIX.length()), value);
+            return;
+        }
+        switch (key) {
+            case "fullName": data.fullName = value; break;
+            case "email": data.email = value; break;
+            case "phone": data.phone = value; break;
+            case "objective": data.objective = value; break;
+            case "profilePhotoPath": data.profilePhotoPath = value; break;
+            case "selectedTemplate": data.selectedTemplate = value; break;
+            case "fontColor": data.fontColor = value; break;
+            case "fontStyle": data.fontStyle = value; break;
+            case "fontSize": data.fontSize = Integer.parseInt(value); break;
+            case "margin": data.margin = Integer.parseInt(value); break;
+            case "bold": data.bold = Boolean.parseBoolean(value); break;
+            case "italic": data.italic = Boolean.parseBoolean(value); break;
+            default: break;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+// Section editors backed by a ListView, so only the rows on screen have controls.
+// Each cell owns one row of TextFields and a remove button, and rebinds them to
+// whichever entry it is showing when the list scrolls; a section with hundreds of
+// entries still has only a screenful of live TextFields. Prompts are bound to
+// Localizer keys, so they follow the language picker.
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.StringProperty;
+import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Button;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.Label;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.util.Callback;
+
+import java.util.List;
+
+public final class EntryListEditor {
+
+    // Fixed row height lets the list skip measuring cells
+    static final double ROW_HEIGHT = 36;
+    // The list grows with its entries up to this many rows, then scrolls
+    static final int MAX_VISIBLE_ROWS = 8;
+
+    private EntryListEditor() {}
+
+    public static ListView<ResumeDocument.EducationEntry> education(ObservableList<ResumeDocument.EducationEntry> entries) {
+        return listView(entries, list -> new EducationCell(entries));
+    }
+
+    public static ListView<ResumeDocument.TextEntry> text(ObservableList<ResumeDocument.TextEntry> entries, String promptKey) {
+        return listView(entries, list -> new TextCell(entries, promptKey));
+    }
+
+    public static ListView<ResumeDocument.CustomField> customFields(ObservableList<ResumeDocument.CustomField> fields) {
+        return listView(fields, list -> new CustomFieldCell(fields));
+    }
+
+    private static <T> ListView<T> listView(ObservableList<T> entries, Callback<ListView<T>, ListCell<T>> cellFactory) {
+        ListView<T> view = new ListView<>(entries);
+        view.setCellFactory(cellFactory);
+        view.setFixedCellSize(ROW_HEIGHT);
+        view.setFocusTraversable(false);
+        view.prefHeightProperty().bind(
+                Bindings.min(MAX_VISIBLE_ROWS, Bindings.size(entries)).multiply(ROW_HEIGHT).add(2));
+        view.setMinHeight(Region.USE_PREF_SIZE);
+        view.setMaxHeight(Region.USE_PREF_SIZE);
+        return view;
+    }
+
+    // One reusable row; subclasses say which entry properties its fields edit
+    private abstract static class EditorCell<T> extends ListCell<T> {
+        private final HBox row = new HBox(10);
+        private T bound;
+
+        EditorCell(ObservableList<T> entries) {
+            Button cutBtn = new Button("×");
+            cutBtn.getStyleClass().add("remove-button");
+            cutBtn.setOnAction(ev -> {
+                if (getItem() != null) entries.remove(getItem());
+            });
+            row.setAlignment(Pos.CENTER_LEFT);
+            row.getChildren().add(cutBtn);
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+            getStyleClass().add("entry-cell");
+        }
+
+        // Adds the editing controls in front of the remove button
+        void addFields(Node... fields) {
+            row.getChildren().addAll(0, List.of(fields));
+        }
+
+        @Override
+        protected void updateItem(T item, boolean empty) {
+            super.updateItem(item, empty);
+            if (bound != null) {
+                unbind(bound);
+                bound = null;
+            }
+            if (empty || item == null) {
+                setGraphic(null);
+            } else {
+                bind(item);
+                bound = item;
+                setGraphic(row);
+            }
+        }
+
+        abstract void bind(T item);
+
+        abstract void unbind(T item);
+    }
+
+    private static final class EducationCell extends EditorCell<ResumeDocument.EducationEntry> {
+        private final TextField[] columns = {
+            field("prompt.course"), field("prompt.stream"), field("prompt.institute"), field("prompt.grade"), field("prompt.year")
+        };
+
+        EducationCell(ObservableList<ResumeDocument.EducationEntry> entries) {
+            super(entries);
+            addFields(columns);
+        }
+
+        @Override
+        void bind(ResumeDocument.EducationEntry entry) {
+            StringProperty[] values = entry.columns();
+            for (int c = 0; c < columns.length; c++) columns[c].textProperty().bindBidirectional(values[c]);
+        }
+
+        @Override
+        void unbind(ResumeDocument.EducationEntry entry) {
+            StringProperty[] values = entry.columns();
+            for (int c = 0; c < columns.length; c++) columns[c].textProperty().unbindBidirectional(values[c]);
+        }
+    }
+
+    private static final class TextCell extends EditorCell<ResumeDocument.TextEntry> {
+        private final TextField text;
+
+        TextCell(ObservableList<ResumeDocument.TextEntry> entries, String promptKey) {
+            super(entries);
+            text = field(promptKey);
+            HBox.setHgrow(text, Priority.ALWAYS);
+            addFields(text);
+        }
+
+        @Override
+        void bind(ResumeDocument.TextEntry entry) {
+            text.textProperty().bindBidirectional(entry.text);
+        }
+
+        @Override
+        void unbind(ResumeDocument.TextEntry entry) {
+            text.textProperty().unbindBidirectional(entry.text);
+        }
+    }
+
+    private static final class CustomFieldCell extends EditorCell<ResumeDocument.CustomField> {
+        private final Label name = new Label();
+        private final TextField value = new TextField();
+
+        CustomFieldCell(ObservableList<ResumeDocument.CustomField> fields) {
+            super(fields);
+            HBox.setHgrow(value, Priority.ALWAYS);
+            addFields(name, value);
+        }
+
+        @Override
+        void bind(ResumeDocument.CustomField field) {
+            name.setText(field.name);
+            value.textProperty().bindBidirectional(field.value);
+        }
+
+        @Override
+        void unbind(ResumeDocument.CustomField field) {
+            value.textProperty().unbindBidirectional(field.value);
+        }
+    }
+
+    private static TextField field(String promptKey) {
+        TextField tf = new TextField();
+        tf.promptTextProperty().bind(Localizer.getInstance().text(promptKey));
+        return tf;
+    }
+}
@@ -0,0 +1,105 @@
+// Process-wide cache of the bundled DejaVu fonts for PDF export.
+// Each TTF is read and parsed into a BaseFont once; derived Font instances are
+// handed out per (family, size, style, color) so documents never re-parse a font.
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Font;
+import com.itextpdf.text.FontFactory;
+import com.itextpdf.text.pdf.BaseFont;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public final class FontRegistry {
+
+    public static final String DEFAULT_FONT_DIR = "Resources/fonts/dejavu-fonts-ttf-2.37/ttf";
+
+    private static final FontRegistry INSTANCE =
+            new FontRegistry(Paths.get(System.getProperty("resume.fontDir", DEFAULT_FONT_DIR)));
+
+    // Font families offered in the styling pane, mapped onto the closest bundled DejaVu face
+    private static final Map<String, String> FAMILY_TO_FACE = Map.ofEntries(
+            Map.entry("Arial", "DejaVuSans"),
+            Map.entry("Verdana", "DejaVuSans"),
+            Map.entry("Tahoma", "DejaVuSans"),
+            Map.entry("Comic Sans MS", "DejaVuSans"),
+            Map.entry("Trebuchet MS", "DejaVuSans"),
+            Map.entry("Impact", "DejaVuSans"),
+            Map.entry("Segoe UI", "DejaVuSans"),
+            Map.entry("DejaVu Sans", "DejaVuSans"),
+            Map.entry("Times New Roman", "DejaVuSerif"),
+            Map.entry("Georgia", "DejaVuSerif"),
+            Map.entry("DejaVu Serif", "DejaVuSerif"),
+            Map.entry("Courier New", "DejaVuSansMono"),
+            Map.entry("Lucida Console", "DejaVuSansMono"),
+            Map.entry("DejaVu Sans Mono", "DejaVuSansMono")
+    );
+
+    private final Path fontDir;
+    private final Map<String, BaseFont> baseFonts = new ConcurrentHashMap<>();
+    private final Map<FontKey, Font> fonts = new ConcurrentHashMap<>();
+
+    private record FontKey(String face, float size, int style, int rgb) {}
+
+    FontRegistry(Path fontDir) {
+        this.fontDir = fontDir;
+    }
+
+    public static FontRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    // The returned Font is shared: callers must treat it as read-only
+    public Font getFont(String family, float size, int style, BaseColor color) {
+        String face = FAMILY_TO_FACE.getOrDefault(family == null ? "" : family, "DejaVuSans");
+        int rgb = color == null ? BaseColor.BLACK.getRGB() : color.getRGB();
+        return fonts.computeIfAbsent(new FontKey(face, size, style, rgb), this::createFont);
+    }
+
+    private Font createFont(FontKey key) {
+        int weightStyle = key.style() & (Font.BOLD | Font.ITALIC);
+        BaseColor color = new BaseColor(key.rgb());
+        BaseFont baseFont = getBaseFont(key.face(), weightStyle);
+        if (baseFont == null) {
+            // Fonts folder missing (e.g. running from another working directory)
+            return FontFactory.getFont(FontFactory.HELVETICA, key.size(), key.style(), color);
+        }
+        // Bold/italic come from the dedicated TTF, so only decorations stay on the Font itself
+        return new Font(baseFont, key.size(), key.style() & ~(Font.BOLD | Font.ITALIC), color);
+    }
+
+    public BaseFont getBaseFont(String face, int style) {
+        String file = face + suffix(face, style) + ".ttf";
+        BaseFont cached = baseFonts.get(file);
+        if (cached != null) return cached;
+        Path path = fontDir.resolve(file);
+        if (!Files.isRegularFile(path)) return null;
+        return baseFonts.computeIfAbsent(file, f -> load(path));
+    }
+
+    private static BaseFont load(Path path) {
+        try {
+            byte[] ttf = Files.readAllBytes(path);
+            BaseFont bf = BaseFont.createFont(path.toString(), BaseFont.IDENTITY_H, BaseFont.EMBEDDED, false, ttf, null);
+            // Only the glyphs a document actually uses get embedded
+            bf.setSubset(true);
+            return bf;
+        } catch (Exception e) {
+            throw new IllegalStateException("Failed to load font " + path, e);
+        }
+    }
+
+    private static String suffix(String face, int style) {
+        boolean bold = (style & Font.BOLD) != 0;
+        boolean italic = (style & Font.ITALIC) != 0;
+        // DejaVu Serif calls its slanted faces "Italic", the sans faces use "Oblique"
+        String slant = face.equals("DejaVuSerif") ? "Italic" : "Oblique";
+        if (bold && italic) return "-Bold" + slant;
+        if (bold) return "-Bold";
+        if (italic) return "-" + slant;
+        return "";
+    }
+}
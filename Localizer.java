@@ -0,0 +1,113 @@
+// UI text from the Resources/lang_<code>.properties bundles (UTF-8). A bundle is read
+// the first time its language is shown and kept afterwards. Controls bind their text
+// to text(key); each key has one shared binding, so switching language recomputes every
+// key once and relabels the existing controls in place, however many are bound to it.
+//
+// Keys missing from a bundle fall back to English, then to the key itself.
+
+import javafx.beans.binding.Bindings;
+import javafx.beans.binding.StringBinding;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.PropertyResourceBundle;
+import java.util.ResourceBundle;
+
+public final class Localizer {
+
+    public static final Locale FALLBACK = Locale.ENGLISH;
+
+    private static final Localizer INSTANCE =
+            new Localizer(Paths.get(System.getProperty("resume.langDir", "Resources")));
+
+    private final Path dir;
+    private final ObjectProperty<Locale> locale = new SimpleObjectProperty<>(this, "locale");
+    private final Map<String, ResourceBundle> bundles = new HashMap<>();  // language -> bundle, filled on first use
+    private final Map<String, StringBinding> texts = new HashMap<>();     // key -> binding shared by all controls
+    private List<Locale> available;
+
+    Localizer(Path dir) {
+        this.dir = dir;
+        // -Dresume.language=es, otherwise the system language when there is a bundle for it
+        String language = System.getProperty("resume.language", Locale.getDefault().getLanguage());
+        Locale initial = Locale.forLanguageTag(language);
+        locale.set(getAvailableLocales().contains(initial) ? initial : FALLBACK);
+    }
+
+    public static Localizer getInstance() {
+        return INSTANCE;
+    }
+
+    // Setting this relabels everything bound through text()
+    public ObjectProperty<Locale> localeProperty() {
+        return locale;
+    }
+
+    public StringBinding text(String key) {
+        return texts.computeIfAbsent(key, k -> Bindings.createStringBinding(() -> lookup(k), locale));
+    }
+
+    public String get(String key) {
+        return text(key).get();
+    }
+
+    // Languages with a bundle, found from the file names alone
+    public List<Locale> getAvailableLocales() {
+        if (available == null) {
+            List<Locale> locales = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "lang_*.properties")) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    locales.add(Locale.forLanguageTag(name.substring("lang_".length(), name.length() - ".properties".length())));
+                }
+            } catch (IOException e) {
+                // Resources folder missing: only the keys themselves are shown
+            }
+            locales.sort((a, b) -> a.getLanguage().compareTo(b.getLanguage()));
+            available = locales;
+        }
+        return available;
+    }
+
+    // A language's name in that language, for the picker: English, español, français, हिन्दी
+    public static String displayName(Locale locale) {
+        String name = locale.getDisplayLanguage(locale);
+        return name.isEmpty() ? locale.getLanguage() : name;
+    }
+
+    private String lookup(String key) {
+        Locale current = locale.get();
+        ResourceBundle bundle = bundle(current != null ? current : FALLBACK);
+        if (bundle != null && bundle.containsKey(key)) return bundle.getString(key);
+        ResourceBundle fallback = bundle(FALLBACK);
+        if (fallback != null && fallback.containsKey(key)) return fallback.getString(key);
+        return key;
+    }
+
+    private ResourceBundle bundle(Locale locale) {
+        String language = locale.getLanguage();
+        if (bundles.containsKey(language)) return bundles.get(language);
+        ResourceBundle bundle = null;
+        Path file = dir.resolve("lang_" + language + ".properties");
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            bundle = new PropertyResourceBundle(reader);
+        } catch (IOException | MissingResourceException e) {
+            System.err.println("Skipping language bundle " + file + ": " + e.getMessage());
+        }
+        bundles.put(language, bundle); // a missing bundle is not retried
+        return bundle;
+    }
+}
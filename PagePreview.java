@@ -0,0 +1,239 @@
+// Page-accurate preview: the resume as the PDF export lays it out, shown as page images.
+//
+// Each update lays the resume out with the PDF export's renderer into memory, then PDFBox
+// rasterizes the pages on a background thread. The shared RenderCache is left alone: every
+// edit is a new document, and caching those would only push exported PDFs out of it.
+// Page images are cached by a hash of everything the page draws: its content stream, its
+// size, and the fonts and images it uses. Layout always covers the whole document, but
+// only pages whose content changed are rasterized again, so a typical edit costs one page
+// render rather than the whole file.
+// Updates are latest-wins: while a render runs, newer requests replace each other.
+
+import javafx.application.Platform;
+import javafx.beans.value.ObservableDoubleValue;
+import javafx.geometry.Pos;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.VBox;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class PagePreview {
+
+    public static final long DEFAULT_BUDGET_BYTES = 64L * 1024 * 1024;
+    public static final float DEFAULT_DPI = 110;
+
+    // -Dresume.previewStats=true prints pages rasterized and reused per update
+    private static final boolean STATS = Boolean.getBoolean("resume.previewStats");
+
+    // Reproducible, so an unchanged page lays out to the same bytes and keeps its key
+    private final ResumePdfRenderer renderer = new ResumePdfRenderer(true);
+    private final float dpi;
+    private final long budgetBytes;
+    private final VBox root = new VBox(12);
+    private final ObservableDoubleValue width;
+
+    // Worker thread only. Access-ordered, so iteration starts at the least recently used page.
+    private final LinkedHashMap<String, Image> pages = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+
+    private final AtomicReference<ResumeData> pending = new AtomicReference<>();
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "page-preview");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private volatile long pagesRendered;
+    private volatile long pagesReused;
+
+    // Pages are scaled to width
+    public PagePreview(ObservableDoubleValue width, float dpi, long budgetBytes) {
+        this.width = width;
+        this.dpi = dpi;
+        this.budgetBytes = budgetBytes;
+        root.setAlignment(Pos.TOP_CENTER);
+        root.getStyleClass().add("page-preview");
+    }
+
+    public VBox getRoot() {
+        return root;
+    }
+
+    // Called on the FX thread; snapshot must not be touched by anyone else afterwards
+    public void update(ResumeData snapshot) {
+        if (pending.getAndSet(snapshot) == null) {
+            worker.execute(this::renderPending);
+        }
+    }
+
+    public long getPagesRendered() {
+        return pagesRendered;
+    }
+
+    public long getPagesReused() {
+        return pagesReused;
+    }
+
+    public void dispose() {
+        worker.shutdownNow();
+    }
+
+    private void renderPending() {
+        ResumeData data = pending.getAndSet(null);
+        if (data == null) return;
+        try {
+            long start = System.nanoTime();
+            ByteArrayOutputStream pdf = new ByteArrayOutputStream(64 * 1024);
+            renderer.render(data, pdf);
+            List<Image> images = new ArrayList<>();
+            int rendered = 0;
+            try (PDDocument document = Loader.loadPDF(pdf.toByteArray())) {
+                PDFRenderer renderer = new PDFRenderer(document);
+                for (int i = 0; i < document.getNumberOfPages(); i++) {
+                    String key = pageKey(document.getPage(i));
+                    Image image = pages.get(key);
+                    if (image == null) {
+                        image = toImage(renderer.renderImageWithDPI(i, dpi, ImageType.RGB));
+                        pages.put(key, image);
+                        usedBytes += bytes(image);
+                        rendered++;
+                    }
+                    images.add(image);
+                }
+            }
+            evict(images);
+            pagesRendered += rendered;
+            pagesReused += images.size() - rendered;
+            if (STATS) {
+                System.out.println(String.format("Page preview: %d pages, %d rasterized, %.1f ms", images.size(),
+                        rendered, (System.nanoTime() - start) / 1e6));
+            }
+            Platform.runLater(() -> show(images));
+        } catch (Exception e) {
+            // Keep showing the last good pages
+            e.printStackTrace();
+        }
+    }
+
+    // FX thread. Views are reused, so pages that did not change are not even re-laid out.
+    private void show(List<Image> images) {
+        while (root.getChildren().size() > images.size()) {
+            root.getChildren().remove(root.getChildren().size() - 1);
+        }
+        while (root.getChildren().size() < images.size()) {
+            ImageView view = new ImageView();
+            view.setPreserveRatio(true);
+            view.setSmooth(true);
+            view.fitWidthProperty().bind(width);
+            view.getStyleClass().add("preview-page");
+            root.getChildren().add(view);
+        }
+        for (int i = 0; i < images.size(); i++) {
+            ImageView view = (ImageView) root.getChildren().get(i);
+            if (view.getImage() != images.get(i)) view.setImage(images.get(i));
+        }
+    }
+
+    // ---- Page identity ----
+
+    // What the page draws: size, content stream, and the fonts and XObjects it refers to.
+    // Fonts are identified by name: glyphs other pages add to a subset do not change this page.
+    private String pageKey(PDPage page) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(Float.toString(dpi).getBytes(StandardCharsets.US_ASCII));
+        digest.update(page.getMediaBox().toString().getBytes(StandardCharsets.US_ASCII));
+        digest.update(Integer.toString(page.getRotation()).getBytes(StandardCharsets.US_ASCII));
+        try (InputStream contents = page.getContents()) {
+            update(digest, contents);
+        }
+        hashResources(digest, page.getResources(), 0);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void hashResources(MessageDigest digest, PDResources resources, int depth) throws IOException {
+        if (resources == null || depth > 8) return;
+        for (COSName name : resources.getFontNames()) {
+            PDFont font = resources.getFont(name);
+            digest.update((name.getName() + "=" + (font == null ? "" : font.getName())).getBytes(StandardCharsets.UTF_8));
+        }
+        for (COSName name : resources.getXObjectNames()) {
+            PDXObject xobject = resources.getXObject(name);
+            digest.update(name.getName().getBytes(StandardCharsets.UTF_8));
+            if (xobject == null) continue;
+            try (InputStream raw = xobject.getCOSObject().createRawInputStream()) {
+                update(digest, raw);
+            }
+            if (xobject instanceof PDFormXObject form) {
+                hashResources(digest, form.getResources(), depth + 1);
+            }
+        }
+    }
+
+    private static void update(MessageDigest digest, InputStream in) throws IOException {
+        byte[] buffer = new byte[8192];
+        for (int n; (n = in.read(buffer)) > 0; ) digest.update(buffer, 0, n);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JRE has SHA-256
+        }
+    }
+
+    // ---- Images ----
+
+    private static Image toImage(BufferedImage page) {
+        int w = page.getWidth();
+        int h = page.getHeight();
+        int[] pixels = page.getRGB(0, 0, w, h, null, 0, w);
+        WritableImage image = new WritableImage(w, h);
+        image.getPixelWriter().setPixels(0, 0, w, h, PixelFormat.getIntArgbInstance(), pixels, 0, w);
+        return image;
+    }
+
+    private static long bytes(Image image) {
+        return (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+
+    // Least recently used pages go first; the pages about to be shown always stay
+    private void evict(List<Image> showing) {
+        Iterator<Map.Entry<String, Image>> it = pages.entrySet().iterator();
+        while (usedBytes > budgetBytes && it.hasNext()) {
+            Image image = it.next().getValue();
+            if (showing.contains(image)) continue;
+            it.remove();
+            usedBytes -= bytes(image);
+        }
+    }
+}
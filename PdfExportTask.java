@@ -0,0 +1,62 @@
+// Exports a resume snapshot to PDF off the JavaFX Application Thread.
+// Progress and message follow the renderer section by section. The PDF is written
+// through a buffer to a sibling ".tmp" file and only renamed over the target once
+// complete, so a cancelled or failed export leaves no partial file behind.
+// PDFs come through the render cache: exporting an unchanged resume again is a file write.
+
+import javafx.concurrent.Task;
+
+import java.io.File;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.CancellationException;
+
+public final class PdfExportTask extends Task<File> {
+
+    private final RenderCache cache;
+    private final ResumeData snapshot;
+    private final File target;
+
+    // snapshot must not be touched by anyone else while the task runs
+    public PdfExportTask(RenderCache cache, ResumeData snapshot, File target) {
+        this.cache = cache;
+        this.snapshot = snapshot;
+        this.target = target;
+        updateTitle("Exporting " + target.getName());
+    }
+
+    @Override
+    protected File call() throws Exception {
+        Path file = target.toPath();
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            updateMessage("Starting export");
+            ResumeEvents.Export event = new ResumeEvents.Export();
+            // Progress is only reported when the PDF is not cached and has to be rendered
+            byte[] pdf = cache.get(snapshot, (section, done, total) -> {
+                event.rendered = true;
+                if (isCancelled()) throw new CancellationException();
+                updateProgress(done, total);
+                updateMessage(section);
+            });
+            if (isCancelled()) throw new CancellationException();
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                out.write(pdf);
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            event.bytes = pdf.length;
+            ResumeMetrics.getInstance().record(event);
+            updateMessage("Exported " + target.getName());
+            return target;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+// Text content of the live preview, computed from a ResumeData snapshot.
+// Kept free of JavaFX nodes so ResumePreview can diff it against what is already on screen.
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public final class PreviewModel {
+
+    public final String fullName;
+    public final String email;
+    public final String phone;
+    public final List<Section> sections;
+
+    public static final class Section {
+        // Stable identity used to match the section with its existing nodes
+        public final String key;
+        public final String title;
+        public final List<String> entries;
+        public final boolean wrapText;
+
+        Section(String key, String title, List<String> entries, boolean wrapText) {
+            this.key = key;
+            this.title = title;
+            this.entries = Collections.unmodifiableList(entries);
+            this.wrapText = wrapText;
+        }
+    }
+
+    private PreviewModel(String fullName, String email, String phone, List<Section> sections) {
+        this.fullName = fullName;
+        this.email = email;
+        this.phone = phone;
+        this.sections = Collections.unmodifiableList(sections);
+    }
+
+    public static PreviewModel build(ResumeData data) {
+        List<Section> sections = new ArrayList<>();
+
+        // Objective section
+        String objective = data.objective == null ? "" : data.objective.trim();
+        if (!objective.isEmpty()) {
+            sections.add(new Section("objective", "OBJECTIVE", List.of(objective), true));
+        }
+
+        // Education section
+        List<String> education = new ArrayList<>();
+        for (String[] row : data.education) {
+            String course = column(row, 0);
+            String stream = column(row, 1);
+            String institute = column(row, 2);
+            String grade = column(row, 3);
+            String year = column(row, 4);
+            if (!institute.isEmpty() || !course.isEmpty() || !stream.isEmpty() || !year.isEmpty() || !grade.isEmpty()) {
+                education.add("• " + institute + "\n" + course + " (" + stream + ")\n" + "Year: " + year + " | Score: " + grade);
+            }
+        }
+        sections.add(new Section("education", "EDUCATION", education, false));
+
+        // Dynamic sections (Skills, Internship, etc.)
+        sections.add(bulletSection("skills", "Skills", data.skills));
+        sections.add(bulletSection("internships", "Internship", data.internships));
+        sections.add(bulletSection("experience", "Experience", data.experience));
+        sections.add(bulletSection("projects", "Projects", data.projects));
+
+        // Custom fields
+        for (Map.Entry<String, String> entry : data.customFields.entrySet()) {
+            String value = entry.getValue();
+            if (value != null && !value.trim().isEmpty()) {
+                sections.add(new Section("custom:" + entry.getKey(), entry.getKey().toUpperCase(), List.of(value), false));
+            }
+        }
+
+        return new PreviewModel(nullToEmpty(data.fullName), nullToEmpty(data.email), nullToEmpty(data.phone), sections);
+    }
+
+    private static Section bulletSection(String key, String title, List<String> items) {
+        List<String> bullets = new ArrayList<>();
+        for (String item : items) {
+            if (item != null && !item.trim().isEmpty()) {
+                bullets.add("• " + item);
+            }
+        }
+        return new Section(key, title.toUpperCase(), bullets, false);
+    }
+
+    private static String column(String[] row, int index) {
+        return row != null && row.length > index && row[index] != null ? row[index] : "";
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+}
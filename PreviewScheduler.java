@@ -0,0 +1,73 @@
+// Coalesces preview update requests into at most one render per JavaFX pulse.
+// Edits only mark the preview dirty; the render runs from the scene's pre-layout
+// pulse listener, optionally after a debounce delay.
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.util.Duration;
+
+public class PreviewScheduler {
+
+    private final Runnable render;
+    private final PauseTransition debounce;
+
+    private boolean dirty;
+    private boolean ready;
+
+    private long requests;
+    private long renders;
+
+    // debounceMillis <= 0 renders on the very next pulse
+    public PreviewScheduler(Scene scene, Runnable render, long debounceMillis) {
+        this.render = render;
+        if (debounceMillis > 0) {
+            debounce = new PauseTransition(Duration.millis(debounceMillis));
+            debounce.setOnFinished(e -> {
+                ready = true;
+                Platform.requestNextPulse();
+            });
+        } else {
+            debounce = null;
+        }
+        scene.addPreLayoutPulseListener(this::onPulse);
+    }
+
+    // Called from any FX-thread listener; cheap enough to call on every keystroke
+    public void requestUpdate() {
+        requests++;
+        dirty = true;
+        schedule();
+    }
+
+    private void schedule() {
+        if (debounce != null) {
+            ready = false;
+            debounce.playFromStart();
+        } else {
+            ready = true;
+            Platform.requestNextPulse();
+        }
+    }
+
+    private void onPulse() {
+        if (!dirty || !ready) return;
+        dirty = false;
+        ready = false;
+        renders++;
+        render.run();
+    }
+
+    public long getRequestCount() {
+        return requests;
+    }
+
+    public long getRenderCount() {
+        return renders;
+    }
+
+    // Requests that were folded into another render instead of causing their own
+    public long getCoalescedCount() {
+        return requests - renders;
+    }
+}
@@ -0,0 +1,358 @@
+// Finished PDFs by content. The key is a SHA-256 over everything the renderer reads:
+// the resume's text, the style settings, the compiled template and the photo's bytes,
+// so an unchanged resume is never rendered twice, and any edit (including an edited
+// template file or a replaced photo) misses. PDFs come from a reproducible renderer,
+// so a cached file is byte-identical to a fresh render.
+//
+// Two tiers: an in-memory LRU under a byte budget, and a directory of <key>.pdf files
+// under its own budget, oldest used first out. Thread-safe; two threads missing on the
+// same key at once both render, and the second result simply replaces the first.
+
+import com.itextpdf.text.DocumentException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class RenderCache {
+
+    public static final long DEFAULT_MEMORY_BYTES = 32L * 1024 * 1024;
+    public static final long DEFAULT_DISK_BYTES = 512L * 1024 * 1024;
+
+    // Part of every key: bump it whenever the PDF layout changes, so older files are never served
+    static final int LAYOUT_VERSION = 1;
+
+    private final ResumePdfRenderer renderer = new ResumePdfRenderer(true);
+
+    private final long memoryBudget;
+    private long memoryUsed;
+    // Access-ordered, so iteration starts at the least recently used PDF
+    private final LinkedHashMap<String, byte[]> memory = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Path diskDir; // null: memory tier only
+    private final long diskBudget;
+    private long diskUsed;
+    private final LinkedHashMap<String, Long> disk = new LinkedHashMap<>(16, 0.75f, true); // key -> file size
+
+    // Photo hashes, so an unchanged photo file is read once
+    private record PhotoStamp(String path, long modified, long size) {}
+    private final Map<PhotoStamp, String> photoHashes = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong diskEvictions = new AtomicLong();
+
+    // Memory tier only
+    public RenderCache(long memoryBudget) {
+        this.memoryBudget = memoryBudget;
+        this.diskDir = null;
+        this.diskBudget = 0;
+    }
+
+    public RenderCache(long memoryBudget, Path diskDir, long diskBudget) throws IOException {
+        this.memoryBudget = memoryBudget;
+        this.diskDir = diskDir;
+        this.diskBudget = diskBudget;
+        if (diskDir != null) {
+            Files.createDirectories(diskDir);
+            loadDiskIndex();
+        }
+    }
+
+    // -Dresume.renderCacheDir (default ~/.resumemaker/render-cache), -Dresume.renderCacheBytes
+    // for the disk tier and -Dresume.renderCacheMemoryBytes for the memory tier
+    public static RenderCache createDefault() throws IOException {
+        Path dir = Paths.get(System.getProperty("resume.renderCacheDir",
+                Paths.get(System.getProperty("user.home"), ".resumemaker", "render-cache").toString()));
+        return new RenderCache(Long.getLong("resume.renderCacheMemoryBytes", DEFAULT_MEMORY_BYTES),
+                dir, Long.getLong("resume.renderCacheBytes", DEFAULT_DISK_BYTES));
+    }
+
+    public byte[] get(ResumeData data) throws DocumentException, IOException {
+        return get(data, ResumePdfRenderer.NO_PROGRESS);
+    }
+
+    // The PDF for data; progress is only told when it has to be rendered.
+    // The returned array is shared with the cache and must not be modified.
+    public byte[] get(ResumeData data, ResumePdfRenderer.ProgressListener progress) throws DocumentException, IOException {
+        String key = key(data);
+
+        byte[] pdf;
+        synchronized (memory) {
+            pdf = memory.get(key);
+        }
+        if (pdf != null) {
+            hits.incrementAndGet();
+            return pdf;
+        }
+
+        pdf = readDisk(key);
+        if (pdf != null) {
+            diskHits.incrementAndGet();
+            putMemory(key, pdf);
+            return pdf;
+        }
+
+        misses.incrementAndGet();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(64 * 1024);
+        renderer.render(data, out, progress);
+        pdf = out.toByteArray();
+        putMemory(key, pdf);
+        writeDisk(key, pdf);
+        return pdf;
+    }
+
+    public void render(ResumeData data, OutputStream out) throws DocumentException, IOException {
+        out.write(get(data));
+    }
+
+    // ---- Keys ----
+
+    // Hex SHA-256 of the resume as the renderer sees it; null and "" hash alike, as they render alike
+    public String key(ResumeData data) throws IOException {
+        MessageDigest sha256 = sha256();
+        try (DataOutputStream out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), sha256))) {
+            out.writeInt(LAYOUT_VERSION);
+            writeString(out, data.fullName);
+            writeString(out, data.email);
+            writeString(out, data.phone);
+
+            out.writeInt(data.education.size());
+            for (String[] row : data.education) {
+                for (int c = 0; c < 5; c++) writeString(out, row != null && row.length > c ? row[c] : null);
+            }
+            writeList(out, data.skills);
+            writeList(out, data.internships);
+            writeList(out, data.experience);
+            writeList(out, data.projects);
+            out.writeInt(data.customFields.size());
+            for (Map.Entry<String, String> field : data.customFields.entrySet()) {
+                writeString(out, field.getKey());
+                writeString(out, field.getValue());
+            }
+
+            // Style, with the color as the renderer parses it ("0x000000ff" and "#000" are the same)
+            out.writeInt(ResumePdfRenderer.parseColor(data.fontColor).getRGB());
+            writeString(out, data.fontStyle);
+            out.writeInt(data.fontSize);
+            out.writeInt(data.margin);
+            out.writeBoolean(data.bold);
+            out.writeBoolean(data.italic);
+
+            // The compiled template rather than its name, so editing a template file invalidates
+            TemplateEngine.Plan plan = TemplateEngine.getInstance().plan(data.selectedTemplate);
+            writeString(out, plan.name);
+            writeString(out, plan.fontFamily);
+            writeString(out, plan.backgroundColor);
+            writeString(out, plan.textColor);
+            writeString(out, plan.layoutStyle);
+
+            writeString(out, photoHash(data.profilePhotoPath));
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private String photoHash(String path) throws IOException {
+        if (path == null || path.isEmpty()) return "";
+        Path file = Paths.get(path);
+        if (!Files.isRegularFile(file)) return ""; // renders as no photo
+        PhotoStamp stamp = new PhotoStamp(file.toAbsolutePath().toString(),
+                Files.getLastModifiedTime(file).toMillis(), Files.size(file));
+        try {
+            return photoHashes.computeIfAbsent(stamp, s -> {
+                try {
+                    return HexFormat.of().formatHex(sha256().digest(Files.readAllBytes(file)));
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeList(DataOutputStream out, List<String> items) throws IOException {
+        out.writeInt(items.size());
+        for (String item : items) writeString(out, item);
+    }
+
+    // Length-prefixed, so adjacent fields cannot run into each other
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        byte[] bytes = (s == null ? "" : s).getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JRE has SHA-256
+        }
+    }
+
+    // ---- Memory tier ----
+
+    private void putMemory(String key, byte[] pdf) {
+        if (pdf.length > memoryBudget) return;
+        synchronized (memory) {
+            byte[] previous = memory.put(key, pdf);
+            if (previous != null) memoryUsed -= previous.length;
+            memoryUsed += pdf.length;
+            Iterator<Map.Entry<String, byte[]>> it = memory.entrySet().iterator();
+            while (memoryUsed > memoryBudget && it.hasNext()) {
+                Map.Entry<String, byte[]> eldest = it.next();
+                if (eldest.getKey().equals(key)) continue;
+                memoryUsed -= eldest.getValue().length;
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    // ---- Disk tier ----
+
+    private record DiskFile(String key, long modified, long size) {}
+
+    // Oldest first by modification time, which disk hits refresh
+    private void loadDiskIndex() throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(diskDir, "*.pdf")) {
+            for (Path file : stream) files.add(file);
+        }
+        List<DiskFile> stamped = new ArrayList<>(files.size());
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            stamped.add(new DiskFile(name.substring(0, name.length() - ".pdf".length()),
+                    Files.getLastModifiedTime(file).toMillis(), Files.size(file)));
+        }
+        stamped.sort(Comparator.comparingLong(DiskFile::modified));
+        synchronized (disk) {
+            for (DiskFile file : stamped) {
+                disk.put(file.key(), file.size());
+                diskUsed += file.size();
+            }
+        }
+    }
+
+    private byte[] readDisk(String key) throws IOException {
+        if (diskDir == null) return null;
+        synchronized (disk) {
+            if (disk.get(key) == null) return null; // also marks it most recently used
+        }
+        Path file = diskDir.resolve(key + ".pdf");
+        try {
+            byte[] pdf = Files.readAllBytes(file);
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return pdf;
+        } catch (NoSuchFileException e) {
+            // Removed behind our back (or by another instance's eviction)
+            synchronized (disk) {
+                Long size = disk.remove(key);
+                if (size != null) diskUsed -= size;
+            }
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, byte[] pdf) throws IOException {
+        if (diskDir == null || pdf.length > diskBudget) return;
+        Path file = diskDir.resolve(key + ".pdf");
+        Path temp = Files.createTempFile(diskDir, key, ".tmp");
+        try {
+            Files.write(temp, pdf);
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+
+        List<String> evicted = new ArrayList<>();
+        synchronized (disk) {
+            Long previous = disk.put(key, (long) pdf.length);
+            if (previous != null) diskUsed -= previous;
+            diskUsed += pdf.length;
+            Iterator<Map.Entry<String, Long>> it = disk.entrySet().iterator();
+            while (diskUsed > diskBudget && it.hasNext()) {
+                Map.Entry<String, Long> eldest = it.next();
+                if (eldest.getKey().equals(key)) continue;
+                diskUsed -= eldest.getValue();
+                evicted.add(eldest.getKey());
+                it.remove();
+            }
+        }
+        for (String old : evicted) {
+            Files.deleteIfExists(diskDir.resolve(old + ".pdf"));
+            diskEvictions.incrementAndGet();
+        }
+    }
+
+    // ---- Counters ----
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public long getDiskEvictions() {
+        return diskEvictions.get();
+    }
+
+    public long getMemoryBytes() {
+        synchronized (memory) {
+            return memoryUsed;
+        }
+    }
+
+    public long getDiskBytes() {
+        synchronized (disk) {
+            return diskUsed;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("render cache: %d memory hits, %d disk hits, %d misses, %d/%d evictions (memory/disk), %d KB in memory, %d KB on disk",
+                getHits(), getDiskHits(), getMisses(), getEvictions(), getDiskEvictions(),
+                getMemoryBytes() / 1024, getDiskBytes() / 1024);
+    }
+}
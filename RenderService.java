@@ -0,0 +1,242 @@
+// Resume rendering as a local HTTP service, on the JDK's built-in HttpServer.
+//
+//   POST /render   body: a draft in the JSON shape "Save Draft" writes -> application/pdf
+//   GET  /health   -> JSON with the queue and request counters
+//
+// Each request is handled on its own virtual thread, so hundreds of slow clients cost
+// next to nothing while they upload or wait. Rendering itself is CPU-bound and runs on a
+// fixed pool of worker threads fed by a bounded queue: when the queue is full the
+// request is turned away at once with 429 and Retry-After instead of piling up. A render
+// that does not finish within the timeout answers 504 and is abandoned at the next section
+// boundary, so slow drafts cannot hold on to the workers. Rendered PDFs go through a
+// memory-only RenderCache, so identical requests are served without rendering.
+//
+// The PDF is rendered into memory and sent with a Content-Length rather than streamed as
+// it is laid out: the cache keeps whole files, a failed or abandoned render can still be
+// answered with an error status instead of a cut-off 200, and a resume is tens of KB.
+//
+// Photo paths in submitted drafts are ignored: they would name files on the server.
+//
+// Usage: java RenderService [port] [workers] [queueCapacity]
+// Listens on 127.0.0.1 unless -Dresume.serviceHost=<address> is given (e.g. 0.0.0.0).
+
+import com.google.gson.stream.JsonWriter;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class RenderService {
+
+    public static final int DEFAULT_PORT = 8765;
+    public static final int DEFAULT_QUEUE_CAPACITY = 256;
+    public static final long DEFAULT_TIMEOUT_MILLIS = 30_000;
+
+    // Drafts are text; anything bigger is not a resume
+    static final int MAX_BODY_BYTES = 4 * 1024 * 1024;
+
+    private final HttpServer server;
+    private final ExecutorService requestThreads = Executors.newVirtualThreadPerTaskExecutor();
+    private final ThreadPoolExecutor renderPool;
+    private final RenderCache cache;
+    private final long timeoutMillis;
+
+    private final AtomicLong rendered = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong badRequests = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public RenderService(InetSocketAddress address, int workers, int queueCapacity, long timeoutMillis,
+                         RenderCache cache) throws IOException {
+        if (workers < 1) throw new IllegalArgumentException("workers must be >= 1");
+        this.timeoutMillis = timeoutMillis;
+        this.cache = cache;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        // AbortPolicy: a full queue throws RejectedExecutionException, answered with 429
+        this.renderPool = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "render-worker-" + threadNumber.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.server = HttpServer.create(address, 0);
+        server.createContext("/render", this::handleRender);
+        server.createContext("/health", this::handleHealth);
+        server.setExecutor(requestThreads);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Stops accepting, gives requests in progress up to delaySeconds, then drops the rest
+    public void stop(int delaySeconds) {
+        server.stop(delaySeconds);
+        renderPool.shutdownNow();
+        requestThreads.shutdownNow();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    // ---- Handlers, each on its own virtual thread ----
+
+    private void handleRender(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                sendText(exchange, 405, "Use POST with a resume draft as JSON");
+                return;
+            }
+
+            byte[] body = readBody(exchange.getRequestBody());
+            if (body == null) {
+                badRequests.incrementAndGet();
+                sendText(exchange, 413, "Draft larger than " + MAX_BODY_BYTES + " bytes");
+                return;
+            }
+            ResumeData data;
+            try {
+                data = DraftStore.read(new InputStreamReader(new ByteArrayInputStream(body), StandardCharsets.UTF_8));
+            } catch (IOException | RuntimeException e) {
+                badRequests.incrementAndGet();
+                sendText(exchange, 400, "Invalid draft JSON: " + e.getMessage());
+                return;
+            }
+            data.profilePhotoPath = "";
+
+            // iText does not check for interrupts, so a timed-out render stops itself between sections
+            AtomicBoolean abandoned = new AtomicBoolean();
+            Future<byte[]> job;
+            try {
+                job = renderPool.submit(() -> cache.get(data, (section, done, total) -> {
+                    if (abandoned.get()) throw new CancellationException();
+                }));
+            } catch (RejectedExecutionException e) {
+                rejected.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                sendText(exchange, 429, "Render queue full, try again shortly");
+                return;
+            }
+
+            byte[] pdf;
+            try {
+                pdf = job.get(timeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                abandoned.set(true);
+                job.cancel(true);
+                timedOut.incrementAndGet();
+                sendText(exchange, 504, "Render did not finish within " + timeoutMillis + " ms");
+                return;
+            } catch (ExecutionException e) {
+                failed.incrementAndGet();
+                sendText(exchange, 500, "Render failed: " + e.getCause());
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                abandoned.set(true);
+                job.cancel(true);
+                return; // shutting down; closing the exchange drops the connection
+            }
+
+            rendered.incrementAndGet();
+            exchange.getResponseHeaders().set("Content-Type", "application/pdf");
+            exchange.sendResponseHeaders(200, pdf.length);
+            exchange.getResponseBody().write(pdf);
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "GET");
+                sendText(exchange, 405, "Use GET");
+                return;
+            }
+            StringWriter json = new StringWriter();
+            JsonWriter out = new JsonWriter(json);
+            out.beginObject();
+            out.name("status").value("ok");
+            out.name("workers").value(renderPool.getMaximumPoolSize());
+            out.name("rendering").value(renderPool.getActiveCount());
+            out.name("queued").value(renderPool.getQueue().size());
+            out.name("queueCapacity").value(renderPool.getQueue().size() + renderPool.getQueue().remainingCapacity());
+            out.name("rendered").value(rendered.get());
+            out.name("rejected").value(rejected.get());
+            out.name("timedOut").value(timedOut.get());
+            out.name("badRequests").value(badRequests.get());
+            out.name("failed").value(failed.get());
+            out.name("cacheHits").value(cache.getHits());
+            out.name("cacheMisses").value(cache.getMisses());
+            out.endObject();
+            out.flush();
+
+            byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        }
+    }
+
+    // The whole body, or null when it is over MAX_BODY_BYTES
+    private static byte[] readBody(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(MAX_BODY_BYTES + 1);
+        return body.length > MAX_BODY_BYTES ? null : body;
+    }
+
+    private static void sendText(HttpExchange exchange, int status, String message) throws IOException {
+        byte[] bytes = (message + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        // The JDK server's own limits on reading a request and writing a response, in seconds
+        if (System.getProperty("sun.net.httpserver.maxReqTime") == null) {
+            System.setProperty("sun.net.httpserver.maxReqTime", "30");
+        }
+        if (System.getProperty("sun.net.httpserver.maxRspTime") == null) {
+            System.setProperty("sun.net.httpserver.maxRspTime", "60");
+        }
+
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_QUEUE_CAPACITY;
+        String host = System.getProperty("resume.serviceHost", "127.0.0.1");
+        long timeout = Long.getLong("resume.renderTimeoutMs", DEFAULT_TIMEOUT_MILLIS);
+
+        RenderService service = new RenderService(new InetSocketAddress(host, port), workers, queueCapacity, timeout,
+                new RenderCache(Long.getLong("resume.renderCacheMemoryBytes", RenderCache.DEFAULT_MEMORY_BYTES)));
+        service.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> service.stop(1)));
+        System.out.printf("Render service on http://%s:%d (%d workers, queue of %d, %d ms timeout)%n",
+                host, service.getPort(), workers, queueCapacity, timeout);
+    }
+}
@@ -0,0 +1,168 @@
+// A "resume book": many resumes rendered into a single PDF, one bookmark per candidate,
+// each resume starting on a new page with its own template and margins.
+//
+// Everything repeated across candidates is written to the file once and referenced
+// from then on:
+//  - fonts: one PdfWriter, so each bundled font is embedded once, subset to the glyphs
+//    used anywhere in the book
+//  - photos: identical image files (by content, wherever they live) decode to one Image
+//    and are stored as a single image XObject
+//  - page backgrounds: drawn once per template into a PdfTemplate (form XObject) that
+//    every page of that template points to
+// The file is written with full compression (object and cross-reference streams).
+//
+// Usage: java ResumeBook <draftsDir> <output.pdf>
+
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.Image;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfDestination;
+import com.itextpdf.text.pdf.PdfOutline;
+import com.itextpdf.text.pdf.PdfPageEventHelper;
+import com.itextpdf.text.pdf.PdfTemplate;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+public final class ResumeBook {
+
+    private final ResumePdfRenderer renderer = new ResumePdfRenderer();
+
+    public void write(List<ResumeData> resumes, OutputStream out) throws DocumentException, IOException {
+        write(resumes, out, ResumePdfRenderer.NO_PROGRESS);
+    }
+
+    // Renders the resumes in order into out; progress is told after each candidate
+    public void write(List<ResumeData> resumes, OutputStream out, ResumePdfRenderer.ProgressListener progress)
+            throws DocumentException, IOException {
+        Document document = new Document();
+        PdfWriter writer = PdfWriter.getInstance(document, out);
+        writer.setFullCompression();
+        writer.setViewerPreferences(PdfWriter.PageModeUseOutlines);
+        Backgrounds backgrounds = new Backgrounds();
+        writer.setPageEvent(backgrounds);
+        Photos photos = new Photos();
+
+        if (resumes.isEmpty()) {
+            document.open();
+            document.add(new com.itextpdf.text.Paragraph(" ")); // iText refuses to close a document without pages
+            document.close();
+            return;
+        }
+
+        for (int i = 0; i < resumes.size(); i++) {
+            ResumeData data = resumes.get(i);
+            TemplateEngine.Plan plan = TemplateEngine.getInstance().plan(data.selectedTemplate);
+
+            // Margins apply from the next page on, so set them before breaking
+            document.setMargins(data.margin, data.margin, data.margin, data.margin);
+            if (i == 0) {
+                document.open();
+            } else {
+                document.newPage();
+            }
+            // The previous candidate's last page has been finished with its own background
+            backgrounds.current = plan;
+
+            String name = data.fullName == null || data.fullName.isBlank() ? "Candidate " + (i + 1) : data.fullName;
+            new PdfOutline(writer.getRootOutline(), new PdfDestination(PdfDestination.FIT), name);
+
+            renderer.renderBody(document, data, plan, photos::get, ResumePdfRenderer.NO_PROGRESS,
+                    ResumePdfRenderer.sectionCount(data));
+            progress.sectionDone(name, i + 1, resumes.size());
+        }
+        document.close();
+    }
+
+    // One form XObject per template color, drawn under every page that template uses
+    private static final class Backgrounds extends PdfPageEventHelper {
+        private final Map<Integer, PdfTemplate> byColor = new HashMap<>();
+        TemplateEngine.Plan current;
+
+        @Override
+        public void onEndPage(PdfWriter writer, Document document) {
+            if (current == null || current.pageBackground == null) return;
+            Rectangle page = document.getPageSize();
+            BaseColor color = current.pdfBackground;
+            PdfTemplate background = byColor.computeIfAbsent(color.getRGB(), rgb -> {
+                PdfTemplate t = writer.getDirectContent().createTemplate(page.getWidth(), page.getHeight());
+                t.setColorFill(color);
+                t.rectangle(0, 0, page.getWidth(), page.getHeight());
+                t.fill();
+                return t;
+            });
+            PdfContentByte under = writer.getDirectContentUnder();
+            under.addTemplate(background, page.getLeft(), page.getBottom());
+        }
+    }
+
+    // Photos by content hash, so the same picture is decoded and embedded once per book
+    private static final class Photos {
+        private final Map<String, String> hashByPath = new HashMap<>();
+        private final Map<String, Image> byHash = new HashMap<>();
+        private final MessageDigest sha256;
+
+        Photos() {
+            try {
+                sha256 = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e); // every JRE has SHA-256
+            }
+        }
+
+        Image get(String path) {
+            if (path == null || path.isEmpty()) return null;
+            String hash = hashByPath.get(path);
+            if (hash == null) {
+                try {
+                    hash = HexFormat.of().formatHex(sha256.digest(Files.readAllBytes(Paths.get(path))));
+                } catch (IOException | RuntimeException e) {
+                    return null; // missing photo: empty cell, as in a single export
+                }
+                hashByPath.put(path, hash);
+            }
+            if (!byHash.containsKey(hash)) {
+                byHash.put(hash, ResumePdfRenderer.loadPhoto(path));
+            }
+            return byHash.get(hash);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Usage: java ResumeBook <draftsDir> <output.pdf>");
+            System.exit(1);
+        }
+        List<Path> drafts = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(args[0]), "*.json")) {
+            for (Path p : stream) drafts.add(p);
+        }
+        drafts.sort(null);
+        List<ResumeData> resumes = new ArrayList<>(drafts.size());
+        for (Path draft : drafts) resumes.add(DraftStore.load(draft));
+
+        long start = System.nanoTime();
+        Path target = Paths.get(args[1]);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(target), 64 * 1024)) {
+            new ResumeBook().write(resumes, out);
+        }
+        System.out.printf("%d resumes -> %s (%d KB) in %.2f s%n", resumes.size(), target,
+                Files.size(target) / 1024, (System.nanoTime() - start) / 1e9);
+    }
+}
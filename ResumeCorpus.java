@@ -0,0 +1,478 @@
+// Read-only columnar store for large sets of resumes loaded for batch work.
+//
+// A ResumeData keeps every record in its own objects: ArrayLists of Strings, a String[]
+// per education row, LinkedHashMaps of custom fields. Across a corpus the same skills,
+// institutes, courses, templates and field names repeat endlessly. Here every distinct
+// string is stored once in a dictionary and records refer to it by number:
+//  - single-valued text (name, email, template, ...): one int[] column each
+//  - lists (skills, projects, ...): one int[] of string numbers for the whole corpus and
+//    an int[] of offsets, record r owning values[offsets[r] .. offsets[r + 1])
+//  - education: the same, one level deeper (record -> rows -> cells)
+//  - maps (custom fields, extra fields): offsets plus parallel key and value columns
+//  - font size and margin as int[], bold and italic as bits of a byte[]
+//
+// A Cursor walks the records and offers ResumeData's fields as accessors; its lists and
+// maps are views over the columns, so moving it allocates nothing. materialize() builds
+// a real ResumeData when one is needed, e.g. to render or edit it.
+//
+// Usage: java ResumeCorpus <draftsDir>   (loads the drafts and reports heap per resume)
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+public final class ResumeCorpus {
+
+    private enum Text { FULL_NAME, EMAIL, PHONE, OBJECTIVE, PROFILE_PHOTO, FONT_COLOR, FONT_STYLE, TEMPLATE, LINKEDIN, GITHUB }
+
+    private enum Section { SKILLS, PROJECTS, INTERNSHIPS, EXPERIENCE, AWARDS, CERTIFICATES, LICENSES }
+
+    private enum Pairs { CUSTOM_FIELDS, FIELDS }
+
+    private static final Text[] TEXTS = Text.values();
+    private static final Section[] SECTIONS = Section.values();
+    private static final Pairs[] PAIRS = Pairs.values();
+
+    private static final byte BOLD = 1;
+    private static final byte ITALIC = 2;
+
+    private final int size;
+    private final String[] dictionary; // string number -> string; -1 stands for null
+
+    private final int[][] text;           // Text x record
+    private final int[][] sectionOffsets; // Section x (record + 1)
+    private final int[][] sectionValues;  // Section x entry
+    private final int[] educationOffsets; // record -> first row
+    private final int[] rowOffsets;       // row -> first cell
+    private final int[] cells;
+    private final int[][] pairOffsets;    // Pairs x (record + 1)
+    private final int[][] pairKeys;
+    private final int[][] pairValues;
+    private final int[] fontSize;
+    private final int[] margin;
+    private final byte[] flags;
+
+    // ---- Building ----
+
+    public static ResumeCorpus of(Iterable<ResumeData> resumes) {
+        Builder builder = new Builder();
+        for (ResumeData data : resumes) builder.add(data);
+        return builder.build();
+    }
+
+    // Every *.json draft in the folder, in file name order
+    public static ResumeCorpus load(Path draftsDir) throws IOException {
+        List<Path> drafts = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(draftsDir, "*.json")) {
+            for (Path p : stream) drafts.add(p);
+        }
+        drafts.sort(null);
+        // One draft at a time: only the columns, never the whole folder of ResumeData, are held
+        Builder builder = new Builder();
+        for (Path draft : drafts) builder.add(DraftStore.load(draft));
+        return builder.build();
+    }
+
+    // Growable int[]; build-time only
+    private static final class Ints {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+
+    private static final class Builder {
+        private final Map<String, Integer> numbers = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private final Ints[] text = new Ints[TEXTS.length];
+        private final Ints[] sectionOffsets = new Ints[SECTIONS.length];
+        private final Ints[] sectionValues = new Ints[SECTIONS.length];
+        private final Ints educationOffsets = new Ints();
+        private final Ints rowOffsets = new Ints();
+        private final Ints cells = new Ints();
+        private final Ints[] pairOffsets = new Ints[PAIRS.length];
+        private final Ints[] pairKeys = new Ints[PAIRS.length];
+        private final Ints[] pairValues = new Ints[PAIRS.length];
+        private final Ints fontSize = new Ints();
+        private final Ints margin = new Ints();
+        private final Ints flags = new Ints();
+        private int size;
+
+        Builder() {
+            for (int i = 0; i < TEXTS.length; i++) text[i] = new Ints();
+            for (int i = 0; i < SECTIONS.length; i++) {
+                sectionOffsets[i] = new Ints();
+                sectionOffsets[i].add(0);
+                sectionValues[i] = new Ints();
+            }
+            for (int i = 0; i < PAIRS.length; i++) {
+                pairOffsets[i] = new Ints();
+                pairOffsets[i].add(0);
+                pairKeys[i] = new Ints();
+                pairValues[i] = new Ints();
+            }
+            educationOffsets.add(0);
+            rowOffsets.add(0);
+        }
+
+        void add(ResumeData data) {
+            text[Text.FULL_NAME.ordinal()].add(number(data.fullName));
+            text[Text.EMAIL.ordinal()].add(number(data.email));
+            text[Text.PHONE.ordinal()].add(number(data.phone));
+            text[Text.OBJECTIVE.ordinal()].add(number(data.objective));
+            text[Text.PROFILE_PHOTO.ordinal()].add(number(data.profilePhotoPath));
+            text[Text.FONT_COLOR.ordinal()].add(number(data.fontColor));
+            text[Text.FONT_STYLE.ordinal()].add(number(data.fontStyle));
+            text[Text.TEMPLATE.ordinal()].add(number(data.selectedTemplate));
+            text[Text.LINKEDIN.ordinal()].add(number(data.linkedin));
+            text[Text.GITHUB.ordinal()].add(number(data.github));
+
+            addSection(Section.SKILLS, data.skills);
+            addSection(Section.PROJECTS, data.projects);
+            addSection(Section.INTERNSHIPS, data.internships);
+            addSection(Section.EXPERIENCE, data.experience);
+            addSection(Section.AWARDS, data.awards);
+            addSection(Section.CERTIFICATES, data.certificates);
+            addSection(Section.LICENSES, data.licenses);
+
+            for (String[] row : data.education) {
+                for (String cell : row) cells.add(number(cell));
+                rowOffsets.add(cells.size);
+            }
+            educationOffsets.add(rowOffsets.size - 1);
+
+            addPairs(Pairs.CUSTOM_FIELDS, data.customFields);
+            addPairs(Pairs.FIELDS, data.fields);
+
+            fontSize.add(data.fontSize);
+            margin.add(data.margin);
+            flags.add((data.bold ? BOLD : 0) | (data.italic ? ITALIC : 0));
+            size++;
+        }
+
+        private void addSection(Section section, List<String> entries) {
+            Ints values = sectionValues[section.ordinal()];
+            for (String entry : entries) values.add(number(entry));
+            sectionOffsets[section.ordinal()].add(values.size);
+        }
+
+        private void addPairs(Pairs pairs, Map<String, String> entries) {
+            int p = pairs.ordinal();
+            for (Map.Entry<String, String> entry : entries.entrySet()) {
+                pairKeys[p].add(number(entry.getKey()));
+                pairValues[p].add(number(entry.getValue()));
+            }
+            pairOffsets[p].add(pairKeys[p].size);
+        }
+
+        private int number(String value) {
+            if (value == null) return -1;
+            Integer number = numbers.get(value);
+            if (number == null) {
+                number = dictionary.size();
+                dictionary.add(value);
+                numbers.put(value, number);
+            }
+            return number;
+        }
+
+        ResumeCorpus build() {
+            return new ResumeCorpus(this);
+        }
+    }
+
+    private ResumeCorpus(Builder b) {
+        size = b.size;
+        dictionary = b.dictionary.toArray(new String[0]);
+        text = new int[TEXTS.length][];
+        for (int i = 0; i < TEXTS.length; i++) text[i] = b.text[i].toArray();
+        sectionOffsets = new int[SECTIONS.length][];
+        sectionValues = new int[SECTIONS.length][];
+        for (int i = 0; i < SECTIONS.length; i++) {
+            sectionOffsets[i] = b.sectionOffsets[i].toArray();
+            sectionValues[i] = b.sectionValues[i].toArray();
+        }
+        educationOffsets = b.educationOffsets.toArray();
+        rowOffsets = b.rowOffsets.toArray();
+        cells = b.cells.toArray();
+        pairOffsets = new int[PAIRS.length][];
+        pairKeys = new int[PAIRS.length][];
+        pairValues = new int[PAIRS.length][];
+        for (int i = 0; i < PAIRS.length; i++) {
+            pairOffsets[i] = b.pairOffsets[i].toArray();
+            pairKeys[i] = b.pairKeys[i].toArray();
+            pairValues[i] = b.pairValues[i].toArray();
+        }
+        fontSize = b.fontSize.toArray();
+        margin = b.margin.toArray();
+        flags = new byte[b.flags.size];
+        for (int i = 0; i < flags.length; i++) flags[i] = (byte) b.flags.values[i];
+    }
+
+    // ---- Reading ----
+
+    public int size() {
+        return size;
+    }
+
+    // Distinct strings across all records
+    public int dictionarySize() {
+        return dictionary.length;
+    }
+
+    // A cursor before the first record. Cursors are cheap; use one per thread.
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    private String string(int number) {
+        return number < 0 ? null : dictionary[number];
+    }
+
+    // One record at a time. The lists and maps it returns are views of the current record:
+    // they follow the cursor when it moves and cannot be modified.
+    public final class Cursor {
+        private int record = -1;
+        private final SectionView skills = new SectionView(Section.SKILLS);
+        private final SectionView projects = new SectionView(Section.PROJECTS);
+        private final SectionView internships = new SectionView(Section.INTERNSHIPS);
+        private final SectionView experience = new SectionView(Section.EXPERIENCE);
+        private final SectionView awards = new SectionView(Section.AWARDS);
+        private final SectionView certificates = new SectionView(Section.CERTIFICATES);
+        private final SectionView licenses = new SectionView(Section.LICENSES);
+        private final PairsView customFields = new PairsView(Pairs.CUSTOM_FIELDS);
+        private final PairsView fields = new PairsView(Pairs.FIELDS);
+
+        private Cursor() {}
+
+        public boolean next() {
+            if (record + 1 >= size) return false;
+            record++;
+            return true;
+        }
+
+        public Cursor seek(int record) {
+            if (record < 0 || record >= size) throw new IndexOutOfBoundsException(record);
+            this.record = record;
+            return this;
+        }
+
+        public int index() {
+            return record;
+        }
+
+        private int current() {
+            if (record < 0) throw new IllegalStateException("Call next() or seek() first");
+            return record;
+        }
+
+        private String text(Text field) {
+            return string(text[field.ordinal()][current()]);
+        }
+
+        public String fullName() { return text(Text.FULL_NAME); }
+        public String email() { return text(Text.EMAIL); }
+        public String phone() { return text(Text.PHONE); }
+        public String objective() { return text(Text.OBJECTIVE); }
+        public String profilePhotoPath() { return text(Text.PROFILE_PHOTO); }
+        public String fontColor() { return text(Text.FONT_COLOR); }
+        public String fontStyle() { return text(Text.FONT_STYLE); }
+        public String selectedTemplate() { return text(Text.TEMPLATE); }
+        public String linkedin() { return text(Text.LINKEDIN); }
+        public String github() { return text(Text.GITHUB); }
+        public int fontSize() { return fontSize[current()]; }
+        public int margin() { return margin[current()]; }
+        public boolean bold() { return (flags[current()] & BOLD) != 0; }
+        public boolean italic() { return (flags[current()] & ITALIC) != 0; }
+
+        public List<String> skills() { return skills; }
+        public List<String> projects() { return projects; }
+        public List<String> internships() { return internships; }
+        public List<String> experience() { return experience; }
+        public List<String> awards() { return awards; }
+        public List<String> certificates() { return certificates; }
+        public List<String> licenses() { return licenses; }
+        public Map<String, String> customFields() { return customFields; }
+        public Map<String, String> fields() { return fields; }
+
+        // Education rows: course, stream, institute, grade, year
+        public int educationRows() {
+            return educationOffsets[current() + 1] - educationOffsets[current()];
+        }
+
+        public int educationColumns(int row) {
+            int r = educationRow(row);
+            return rowOffsets[r + 1] - rowOffsets[r];
+        }
+
+        public String education(int row, int column) {
+            int r = educationRow(row);
+            if (column < 0 || column >= rowOffsets[r + 1] - rowOffsets[r]) throw new IndexOutOfBoundsException(column);
+            return string(cells[rowOffsets[r] + column]);
+        }
+
+        private int educationRow(int row) {
+            if (row < 0 || row >= educationRows()) throw new IndexOutOfBoundsException(row);
+            return educationOffsets[record] + row;
+        }
+
+        // A real, independent copy of the current record
+        public ResumeData materialize() {
+            ResumeData data = new ResumeData();
+            data.fullName = fullName();
+            data.email = email();
+            data.phone = phone();
+            data.objective = objective();
+            data.profilePhotoPath = profilePhotoPath();
+            data.fontColor = fontColor();
+            data.fontStyle = fontStyle();
+            data.selectedTemplate = selectedTemplate();
+            data.linkedin = linkedin();
+            data.github = github();
+            data.fontSize = fontSize();
+            data.margin = margin();
+            data.bold = bold();
+            data.italic = italic();
+            for (int row = 0; row < educationRows(); row++) {
+                String[] columns = new String[educationColumns(row)];
+                for (int c = 0; c < columns.length; c++) columns[c] = education(row, c);
+                data.education.add(columns);
+            }
+            data.skills.addAll(skills);
+            data.projects.addAll(projects);
+            data.internships.addAll(internships);
+            data.experience.addAll(experience);
+            data.awards.addAll(awards);
+            data.certificates.addAll(certificates);
+            data.licenses.addAll(licenses);
+            data.customFields.putAll(customFields);
+            data.fields.putAll(fields);
+            return data;
+        }
+
+        private final class SectionView extends AbstractList<String> {
+            private final int[] offsets;
+            private final int[] values;
+
+            SectionView(Section section) {
+                offsets = sectionOffsets[section.ordinal()];
+                values = sectionValues[section.ordinal()];
+            }
+
+            @Override
+            public String get(int index) {
+                int start = offsets[current()];
+                if (index < 0 || index >= offsets[record + 1] - start) throw new IndexOutOfBoundsException(index);
+                return string(values[start + index]);
+            }
+
+            @Override
+            public int size() {
+                return offsets[current() + 1] - offsets[record];
+            }
+        }
+
+        // Insertion order, as in ResumeData; lookups scan the record's few entries
+        private final class PairsView extends AbstractMap<String, String> {
+            private final int[] offsets;
+            private final int[] keys;
+            private final int[] values;
+            private final Set<Map.Entry<String, String>> entries = new AbstractSet<>() {
+                @Override
+                public Iterator<Map.Entry<String, String>> iterator() {
+                    return new Iterator<>() {
+                        private int i = offsets[current()];
+                        private final int end = offsets[record + 1];
+
+                        @Override
+                        public boolean hasNext() {
+                            return i < end;
+                        }
+
+                        @Override
+                        public Map.Entry<String, String> next() {
+                            if (i >= end) throw new NoSuchElementException();
+                            Map.Entry<String, String> entry = new SimpleImmutableEntry<>(string(keys[i]), string(values[i]));
+                            i++;
+                            return entry;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return offsets[current() + 1] - offsets[record];
+                }
+            };
+
+            PairsView(Pairs pairs) {
+                offsets = pairOffsets[pairs.ordinal()];
+                keys = pairKeys[pairs.ordinal()];
+                values = pairValues[pairs.ordinal()];
+            }
+
+            @Override
+            public Set<Map.Entry<String, String>> entrySet() {
+                return entries;
+            }
+
+            @Override
+            public String get(Object key) {
+                for (int i = offsets[current()]; i < offsets[record + 1]; i++) {
+                    if (Objects.equals(string(keys[i]), key)) return string(values[i]);
+                }
+                return null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                for (int i = offsets[current()]; i < offsets[record + 1]; i++) {
+                    if (Objects.equals(string(keys[i]), key)) return true;
+                }
+                return false;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: java ResumeCorpus <draftsDir>");
+            System.exit(1);
+        }
+        long before = usedHeap();
+        long start = System.nanoTime();
+        ResumeCorpus corpus = load(Paths.get(args[0]));
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long bytes = usedHeap() - before;
+        System.out.printf("%d resumes, %d distinct strings, loaded in %.2f s, %.1f MB heap (%d bytes per resume)%n",
+                corpus.size(), corpus.dictionarySize(), seconds, bytes / 1e6, corpus.size() == 0 ? 0 : bytes / corpus.size());
+    }
+
+    // Heap in use after a full collection
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -1,41 +1,44 @@
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
+// Plain snapshot of a resume: what drafts store, and what the renderers, the preview
+// and background threads work from. The live, editable state is ResumeDocument.
 public class ResumeData {
     // Basic fields
-    public String fullName;
-    public String email;
-    public String phone;
+    public String fullName = "";
+    public String email = "";
+    public String phone = "";
+    public String objective = "";
 
     // Profile photo path
-    public String profilePhotoPath;
+    public String profilePhotoPath = "";
 
     // Dynamic sections
-    public List<String[]> education = new ArrayList<>(); // course, stream, institute, grade
+    public List<String[]> education = new ArrayList<>(); // course, stream, institute, grade, year
     public List<String> skills = new ArrayList<>();
     public List<String> projects = new ArrayList<>();
     public List<String> internships = new ArrayList<>();
     public List<String> experience = new ArrayList<>();
 
-    // Custom fields
-    public Map<String, String> customFields = new HashMap<>();
+    // Custom fields, in the order they were added
+    public Map<String, String> customFields = new LinkedHashMap<>();
 
     // Styling options
-    public String fontColor;
-    public String fontStyle;
-    public int fontSize;
-    public int margin;
-    public boolean bold;
-    public boolean italic;
+    public String fontColor = "#000000";
+    public String fontStyle = "Arial";
+    public int fontSize = 12;
+    public int margin = 20;
+    public boolean bold = false;
+    public boolean italic = false;
 
     // Selected template
-    public String selectedTemplate;
+    public String selectedTemplate = "Modern";
 
     // Social links
-    public String linkedin;
-    public String github;
+    public String linkedin = "";
+    public String github = "";
 
     // Achievements and credentials
     public List<String> awards = new ArrayList<>();
@@ -43,5 +46,5 @@ public class ResumeData {
     public List<String> licenses = new ArrayList<>();
 
     // Optional: Generic extra fields (if needed)
-    public Map<String, String> fields = new HashMap<>();
+    public Map<String, String> fields = new LinkedHashMap<>();
 }
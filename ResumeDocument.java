@@ -0,0 +1,357 @@
+// The resume being edited, as observable properties and lists. Editors bind to it
+// instead of being read back out of the scene graph; drafts, the preview and PDF
+// export all work from snapshot(), a detached ResumeData copy that is safe to hand
+// to other threads.
+
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.Property;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public final class ResumeDocument {
+
+    // Receives every edit as it happens, in the vocabulary of EditJournal. Changes made
+    // by load() are not reported; the caller snapshots the loaded state instead.
+    public interface EditListener {
+        void setField(String key, String value);
+        void addEntry(int section, int index);
+        void removeEntry(int section, int index);
+        void setEntry(int section, int index, int column, String value);
+        void removeCustomField(String name);
+    }
+
+    public static final class EducationEntry {
+        public final StringProperty course = new SimpleStringProperty(this, "course", "");
+        public final StringProperty stream = new SimpleStringProperty(this, "stream", "");
+        public final StringProperty institute = new SimpleStringProperty(this, "institute", "");
+        public final StringProperty grade = new SimpleStringProperty(this, "grade", "");
+        public final StringProperty year = new SimpleStringProperty(this, "year", "");
+        private boolean watched;
+
+        public EducationEntry() {}
+
+        public EducationEntry(String[] row) {
+            StringProperty[] columns = columns();
+            for (int c = 0; c < columns.length; c++) {
+                columns[c].set(c < row.length && row[c] != null ? row[c] : "");
+            }
+        }
+
+        // In the order of ResumeData.education rows
+        public StringProperty[] columns() {
+            return new StringProperty[] {course, stream, institute, grade, year};
+        }
+
+        String[] toRow() {
+            return new String[] {course.get(), stream.get(), institute.get(), grade.get(), year.get()};
+        }
+    }
+
+    public static final class TextEntry {
+        public final StringProperty text = new SimpleStringProperty(this, "text", "");
+        private boolean watched;
+
+        public TextEntry() {}
+
+        public TextEntry(String text) {
+            this.text.set(text != null ? text : "");
+        }
+    }
+
+    public static final class CustomField {
+        public final String name;
+        public final StringProperty value = new SimpleStringProperty(this, "value", "");
+        private boolean watched;
+
+        public CustomField(String name, String value) {
+            this.name = name;
+            this.value.set(value != null ? value : "");
+        }
+    }
+
+    public final StringProperty fullName = new SimpleStringProperty(this, "fullName", "");
+    public final StringProperty email = new SimpleStringProperty(this, "email", "");
+    public final StringProperty phone = new SimpleStringProperty(this, "phone", "");
+    public final StringProperty objective = new SimpleStringProperty(this, "objective", "");
+    public final StringProperty profilePhotoPath = new SimpleStringProperty(this, "profilePhotoPath", "");
+
+    public final ObservableList<EducationEntry> education = FXCollections.observableArrayList();
+    public final ObservableList<TextEntry> skills = FXCollections.observableArrayList();
+    public final ObservableList<TextEntry> internships = FXCollections.observableArrayList();
+    public final ObservableList<TextEntry> experience = FXCollections.observableArrayList();
+    public final ObservableList<TextEntry> projects = FXCollections.observableArrayList();
+    public final ObservableList<CustomField> customFields = FXCollections.observableArrayList();
+
+    public final StringProperty fontColor = new SimpleStringProperty(this, "fontColor", "#000000");
+    public final StringProperty fontStyle = new SimpleStringProperty(this, "fontStyle", "Arial");
+    public final ObjectProperty<Integer> fontSize = new SimpleObjectProperty<>(this, "fontSize", 12);
+    public final ObjectProperty<Integer> margin = new SimpleObjectProperty<>(this, "margin", 20);
+    public final BooleanProperty bold = new SimpleBooleanProperty(this, "bold", false);
+    public final BooleanProperty italic = new SimpleBooleanProperty(this, "italic", false);
+    public final StringProperty selectedTemplate = new SimpleStringProperty(this, "selectedTemplate", "Modern");
+
+    // Not editable in the app yet; kept so a draft loses nothing on its way through
+    private String linkedin = "";
+    private String github = "";
+    private final List<String> awards = new ArrayList<>();
+    private final List<String> certificates = new ArrayList<>();
+    private final List<String> licenses = new ArrayList<>();
+    private final Map<String, String> fields = new LinkedHashMap<>();
+
+    private final List<Runnable> changeListeners = new ArrayList<>();
+    private EditListener editListener;
+    private boolean loading;
+
+    public ResumeDocument() {
+        watch(fullName, "fullName");
+        watch(email, "email");
+        watch(phone, "phone");
+        watch(objective, "objective");
+        watch(profilePhotoPath, "profilePhotoPath");
+        watch(fontColor, "fontColor");
+        watch(fontStyle, "fontStyle");
+        watch(fontSize, "fontSize");
+        watch(margin, "margin");
+        watch(bold, "bold");
+        watch(italic, "italic");
+        watch(selectedTemplate, "selectedTemplate");
+
+        watchEducation();
+        watchTextList(skills, EditJournal.SKILLS);
+        watchTextList(internships, EditJournal.INTERNSHIPS);
+        watchTextList(experience, EditJournal.EXPERIENCE);
+        watchTextList(projects, EditJournal.PROJECTS);
+        watchCustomFields();
+    }
+
+    // Called after any change to the document, including a whole load()
+    public void addChangeListener(Runnable listener) {
+        changeListeners.add(listener);
+    }
+
+    public void setEditListener(EditListener listener) {
+        this.editListener = listener;
+    }
+
+    public CustomField getCustomField(String name) {
+        for (CustomField field : customFields) {
+            if (field.name.equals(name)) return field;
+        }
+        return null;
+    }
+
+    // Returns false if a field with that name already exists
+    public boolean addCustomField(String name, String value) {
+        if (getCustomField(name) != null) return false;
+        customFields.add(new CustomField(name, value));
+        return true;
+    }
+
+    public ResumeData snapshot() {
+        ResumeData data = new ResumeData();
+        data.fullName = fullName.get();
+        data.email = email.get();
+        data.phone = phone.get();
+        data.objective = objective.get();
+        data.profilePhotoPath = profilePhotoPath.get();
+
+        for (EducationEntry entry : education) data.education.add(entry.toRow());
+        copyTexts(skills, data.skills);
+        copyTexts(projects, data.projects);
+        copyTexts(internships, data.internships);
+        copyTexts(experience, data.experience);
+        for (CustomField field : customFields) data.customFields.put(field.name, field.value.get());
+
+        data.fontColor = fontColor.get();
+        data.fontStyle = fontStyle.get();
+        if (fontSize.get() != null) data.fontSize = fontSize.get();
+        if (margin.get() != null) data.margin = margin.get();
+        data.bold = bold.get();
+        data.italic = italic.get();
+        data.selectedTemplate = selectedTemplate.get();
+
+        data.linkedin = linkedin;
+        data.github = github;
+        data.awards.addAll(awards);
+        data.certificates.addAll(certificates);
+        data.licenses.addAll(licenses);
+        data.fields.putAll(fields);
+        return data;
+    }
+
+    // Replaces the whole document; listeners hear about it once, at the end
+    public void load(ResumeData data) {
+        loading = true;
+        try {
+            ResumeData defaults = new ResumeData();
+            fullName.set(orDefault(data.fullName, defaults.fullName));
+            email.set(orDefault(data.email, defaults.email));
+            phone.set(orDefault(data.phone, defaults.phone));
+            objective.set(orDefault(data.objective, defaults.objective));
+            profilePhotoPath.set(orDefault(data.profilePhotoPath, defaults.profilePhotoPath));
+
+            List<EducationEntry> rows = new ArrayList<>(data.education.size());
+            for (String[] row : data.education) rows.add(new EducationEntry(row));
+            education.setAll(rows);
+            skills.setAll(toEntries(data.skills));
+            projects.setAll(toEntries(data.projects));
+            internships.setAll(toEntries(data.internships));
+            experience.setAll(toEntries(data.experience));
+
+            List<CustomField> custom = new ArrayList<>(data.customFields.size());
+            for (Map.Entry<String, String> entry : data.customFields.entrySet()) {
+                custom.add(new CustomField(entry.getKey(), entry.getValue()));
+            }
+            customFields.setAll(custom);
+
+            fontColor.set(orDefault(data.fontColor, defaults.fontColor));
+            fontStyle.set(orDefault(data.fontStyle, defaults.fontStyle));
+            fontSize.set(data.fontSize);
+            margin.set(data.margin);
+            bold.set(data.bold);
+            italic.set(data.italic);
+            selectedTemplate.set(orDefault(data.selectedTemplate, defaults.selectedTemplate));
+
+            linkedin = orDefault(data.linkedin, defaults.linkedin);
+            github = orDefault(data.github, defaults.github);
+            awards.clear();
+            awards.addAll(data.awards);
+            certificates.clear();
+            certificates.addAll(data.certificates);
+            licenses.clear();
+            licenses.addAll(data.licenses);
+            fields.clear();
+            fields.putAll(data.fields);
+        } finally {
+            loading = false;
+        }
+        fireChanged();
+    }
+
+    // ---- Change tracking ----
+
+    private void watch(Property<?> property, String key) {
+        property.addListener((obs, oldVal, newVal) -> {
+            if (reporting()) editListener.setField(key, newVal == null ? "" : String.valueOf(newVal));
+            fireChanged();
+        });
+    }
+
+    private void watchEducation() {
+        education.addListener((ListChangeListener<EducationEntry>) c -> {
+            while (c.next()) {
+                for (EducationEntry entry : c.getAddedSubList()) {
+                    if (entry.watched) continue;
+                    entry.watched = true;
+                    StringProperty[] columns = entry.columns();
+                    for (int col = 0; col < columns.length; col++) {
+                        int column = col;
+                        columns[col].addListener((obs, oldVal, newVal) -> entryChanged(education, EditJournal.EDUCATION, entry, column, newVal));
+                    }
+                }
+                reportStructure(c, EditJournal.EDUCATION, entry -> entry.columns());
+            }
+            fireChanged();
+        });
+    }
+
+    private void watchTextList(ObservableList<TextEntry> list, int section) {
+        list.addListener((ListChangeListener<TextEntry>) c -> {
+            while (c.next()) {
+                for (TextEntry entry : c.getAddedSubList()) {
+                    if (entry.watched) continue;
+                    entry.watched = true;
+                    entry.text.addListener((obs, oldVal, newVal) -> entryChanged(list, section, entry, 0, newVal));
+                }
+                reportStructure(c, section, entry -> new StringProperty[] {entry.text});
+            }
+            fireChanged();
+        });
+    }
+
+    private void watchCustomFields() {
+        customFields.addListener((ListChangeListener<CustomField>) c -> {
+            while (c.next()) {
+                if (c.wasPermutated()) continue;
+                for (CustomField field : c.getRemoved()) {
+                    if (reporting()) editListener.removeCustomField(field.name);
+                }
+                for (CustomField field : c.getAddedSubList()) {
+                    if (!field.watched) {
+                        field.watched = true;
+                        field.value.addListener((obs, oldVal, newVal) -> {
+                            if (reporting() && customFields.contains(field)) {
+                                editListener.setField(EditJournal.CUSTOM_PREFIX + field.name, orDefault(newVal, ""));
+                            }
+                            fireChanged();
+                        });
+                    }
+                    if (reporting()) editListener.setField(EditJournal.CUSTOM_PREFIX + field.name, field.value.get());
+                }
+            }
+            fireChanged();
+        });
+    }
+
+    private interface Columns<T> {
+        StringProperty[] of(T entry);
+    }
+
+    // Entries are journalled as remove/add by index, then the text of each new entry
+    private <T> void reportStructure(ListChangeListener.Change<? extends T> c, int section, Columns<T> columns) {
+        if (!reporting() || c.wasPermutated()) return;
+        for (int i = 0; i < c.getRemovedSize(); i++) {
+            editListener.removeEntry(section, c.getFrom());
+        }
+        for (int index = c.getFrom(); index < c.getTo(); index++) {
+            editListener.addEntry(section, index);
+            StringProperty[] values = columns.of(c.getList().get(index));
+            for (int col = 0; col < values.length; col++) {
+                String value = values[col].get();
+                if (value != null && !value.isEmpty()) editListener.setEntry(section, index, col, value);
+            }
+        }
+    }
+
+    private <T> void entryChanged(List<T> list, int section, T entry, int column, String value) {
+        if (reporting()) {
+            int index = list.indexOf(entry);
+            if (index >= 0) editListener.setEntry(section, index, column, orDefault(value, ""));
+        }
+        fireChanged();
+    }
+
+    private boolean reporting() {
+        return editListener != null && !loading;
+    }
+
+    private void fireChanged() {
+        if (loading) return;
+        for (Runnable listener : changeListeners) listener.run();
+    }
+
+    private static void copyTexts(List<TextEntry> entries, List<String> target) {
+        for (TextEntry entry : entries) target.add(entry.text.get());
+    }
+
+    private static List<TextEntry> toEntries(List<String> texts) {
+        List<TextEntry> entries = new ArrayList<>(texts.size());
+        for (String text : texts) entries.add(new TextEntry(text));
+        return entries;
+    }
+
+    private static String orDefault(String value, String fallback) {
+        return value != null ? value : fallback;
+    }
+}
@@ -0,0 +1,127 @@
+// Custom JDK Flight Recorder events. They cost next to nothing unless a recording is
+// running, and are enabled in the default settings, so on a running app:
+//
+//   jcmd <pid> JFR.start name=resume filename=resume.jfr
+//   jcmd <pid> JFR.dump name=resume
+//
+// then open resume.jfr in JDK Mission Control ("Resume Maker" category) or use
+// `jfr print --categories "Resume Maker" resume.jfr`. Running totals of the same
+// measurements are published over JMX by ResumeMetrics.
+//
+// Each event starts timing when constructed; ResumeMetrics.record(event) ends it,
+// commits it and adds it to the JMX totals.
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+public final class ResumeEvents {
+
+    private ResumeEvents() {}
+
+    @Name("resumemaker.PreviewUpdate")
+    @Label("Preview Update")
+    @Category({"Resume Maker", "Preview"})
+    @Description("One incremental update of the live preview")
+    @StackTrace(false)
+    public static final class PreviewUpdate extends Event {
+        @Label("Nodes Created")
+        public long nodesCreated;
+
+        @Label("Layout Passes")
+        @Description("Layout passes of the preview since the previous update")
+        public long layoutPasses;
+
+        final transient long startNanos = System.nanoTime();
+
+        public PreviewUpdate() {
+            begin();
+        }
+    }
+
+    @Name("resumemaker.DraftIO")
+    @Label("Draft Save/Load")
+    @Category({"Resume Maker", "Drafts"})
+    @StackTrace(false)
+    public static final class DraftIO extends Event {
+        @Label("Operation")
+        public String operation; // "save" or "load"
+
+        @Label("Format")
+        public String format; // "json" or "rmdb"
+
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+
+        final transient long startNanos = System.nanoTime();
+
+        public DraftIO(String operation, String format) {
+            this.operation = operation;
+            this.format = format;
+            begin();
+        }
+    }
+
+    @Name("resumemaker.ExportPhase")
+    @Label("PDF Export Phase")
+    @Category({"Resume Maker", "Export"})
+    @Description("Fonts, header and photo, each section, or closing the document")
+    @StackTrace(false)
+    public static final class ExportPhase extends Event {
+        @Label("Phase")
+        public String phase;
+
+        final transient long startNanos = System.nanoTime();
+
+        public ExportPhase(String phase) {
+            this.phase = phase;
+            begin();
+        }
+    }
+
+    @Name("resumemaker.Export")
+    @Label("PDF Export")
+    @Category({"Resume Maker", "Export"})
+    @StackTrace(false)
+    public static final class Export extends Event {
+        @Label("Bytes Written")
+        @DataAmount
+        public long bytes;
+
+        @Label("Rendered")
+        @Description("False when the PDF came from the render cache")
+        public boolean rendered;
+
+        final transient long startNanos = System.nanoTime();
+
+        public Export() {
+            begin();
+        }
+    }
+
+    @Name("resumemaker.ImageDecode")
+    @Label("Image Decode")
+    @Category({"Resume Maker", "Images"})
+    @StackTrace(false)
+    public static final class ImageDecode extends Event {
+        @Label("Purpose")
+        public String purpose; // "pdf" or "preview"
+
+        @Label("File Size")
+        @DataAmount
+        public long bytes;
+
+        final transient long startNanos = System.nanoTime();
+
+        public ImageDecode(String purpose, long bytes) {
+            this.purpose = purpose;
+            this.bytes = bytes;
+            begin();
+        }
+    }
+}
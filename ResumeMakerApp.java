@@ -3,6 +3,8 @@
 
 import javafx.application.Application;
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.StringProperty;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -11,60 +13,61 @@ import javafx.scene.control.CheckBox;
 import javafx.scene.control.ColorPicker;
 import javafx.scene.control.ComboBox;
 import javafx.scene.control.Label;
+import javafx.scene.control.ListView;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Spinner;
 import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
-import javafx.scene.control.TextInputControl;
 import javafx.scene.control.TextInputDialog;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Alert.AlertType;
-import javafx.scene.control.Separator;
 
 import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 import javafx.scene.layout.*;
 import javafx.scene.paint.Color;
 import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 import javafx.scene.Node;
+import javafx.util.StringConverter;
 
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.itextpdf.text.*;
-import com.itextpdf.text.pdf.*;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.FileReader;
-import java.util.ArrayList;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
-import java.util.function.BiConsumer;
-import java.util.function.Consumer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 
 public class ResumeMakerApp extends Application {
     private ScrollPane scrollPane;           // for the form pane
     private ScrollPane previewScrollPane; 
     private TextArea objectiveArea;
-    private VBox educationBox = new VBox(5);
-    private VBox skillsBox = new VBox(5);
-    private VBox projectBox = new VBox(5);
-    private VBox internshipBox = new VBox(5);
-    private VBox experienceBox = new VBox(5);
 
     private StackPane rootStack;
     private VBox formPane;
+    private ListView<ResumeDocument.CustomField> customFieldsList;
     private VBox stylingPane;
-    private VBox templatePane;
+    // Wizard steps 2 and 3, built on first visit and reused; navigation swaps these roots
+    private ScrollPane stylingRoot;
+    private ScrollPane templateRoot;
     private VBox previewBox;
     private Scene scene;
 
-    private Map<String, javafx.scene.control.TextField> fields = new LinkedHashMap<>();
-    private File profileImageFile;
+    // Everything the user has entered; the controls below are bound to it
+    private final ResumeDocument document = new ResumeDocument();
+
+    // Labels are bound to it, so changing language relabels them in place
+    private final Localizer i18n = Localizer.getInstance();
 
     private ColorPicker colorPicker;
     private ComboBox<String> fontStyleBox;
@@ -76,11 +79,64 @@ public class ResumeMakerApp extends Application {
 
     private Button saveBtn;
     private Button loadBtn;
+    private DraftLibrary draftLibrary;
+
+    // Exports of an unchanged resume are served from here instead of re-rendered
+    private RenderCache renderCache;
+    private final ThumbnailCache thumbnailCache =
+            new ThumbnailCache(Long.getLong("resume.thumbnailCacheBytes", ThumbnailCache.DEFAULT_BUDGET_BYTES));
+    private ImageView profileImageView;
+
+    // Exports run one at a time on their own thread; the controls outlive the template pane
+    private final ExecutorService exportExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "resume-export");
+        t.setDaemon(true);
+        return t;
+    });
+    private PdfExportTask exportTask;
+    private Button exportBtn;
+    private HBox exportStatus;
+    private ProgressBar exportProgress;
+    private Label exportMessage;
+    private ResumePreview preview;
+    private PreviewScheduler previewScheduler;
+    // Pages exactly as exported, instead of the quick preview; built on first use
+    private PagePreview pagePreview;
+    private CheckBox pagePreviewCheck;
+
+    // Autosave; edits applied while restoring a draft are covered by the snapshot taken afterwards
+    private EditJournal journal;
+
+    // -Dresume.previewStats=true prints scene-graph churn for every preview update
+    private static final boolean PREVIEW_STATS = Boolean.getBoolean("resume.previewStats");
+
+    // The document keeps the color as text; the picker works with Color
+    private static final StringConverter<Color> COLOR_CONVERTER = new StringConverter<>() {
+        @Override
+        public String toString(Color color) {
+            return color == null ? "#000000" : color.toString();
+        }
+
+        @Override
+        public Color fromString(String value) {
+            try {
+                return Color.valueOf(value);
+            } catch (Exception e) {
+                return Color.BLACK; // ignore invalid color
+            }
+        }
+    };
 
     @Override
 public void start(Stage primaryStage) {
     rootStack = new StackPane();
 
+    profileImageView = new ImageView();
+    profileImageView.setFitWidth(100);
+    profileImageView.setFitHeight(100);
+
+    setupExportStatus();
+
     setupFormPane(); // Sets up the VBox with all form fields
 
     scrollPane = new ScrollPane(formPane);
@@ -91,94 +147,93 @@ public void start(Stage primaryStage) {
     rootStack.getChildren().add(scrollPane);
 
     scene = new Scene(rootStack, 800, 600); // Final size
-    primaryStage.setTitle("Resume Maker App");
-    primaryStage.setScene(scene);
-    primaryStage.show();
-}
-
-
-
-    private void saveDraft() {
-        ResumeData data = new ResumeData();
-
-        // Basic fields
-        data.fullName = fields.get("Full Name").getText();
-        data.email = fields.get("Email").getText();
-        data.phone = fields.get("Phone").getText();
-
-        // Education extraction
-        for (javafx.scene.Node node : educationBox.getChildren()) {
-            if (node instanceof HBox) {
-                HBox row = (HBox) node;
-                if (row.getChildren().size() >= 5) {
-                    String[] entry = new String[] {
-                        ((TextField) row.getChildren().get(0)).getText(), // course
-                        ((TextField) row.getChildren().get(1)).getText(), // stream
-                        ((TextField) row.getChildren().get(2)).getText(), // institute
-                        ((TextField) row.getChildren().get(3)).getText(), // grade
-                        ((TextField) row.getChildren().get(4)).getText()  // year
-                    };
-                    data.education.add(entry);
-                }
-            }
-        }
+    String theme = themeStylesheet();
+    if (theme != null) {
+        scene.getStylesheets().add(theme);
+    }
+    previewScheduler = new PreviewScheduler(scene, this::updatePreview, Long.getLong("resume.previewDebounceMs", 0));
+    document.addChangeListener(this::requestPreview);
 
-        // Skills, Projects, Internships, Experience
-        extractTextList(skillsBox, data.skills);
-        extractTextList(projectBox, data.projects);
-        extractTextList(internshipBox, data.internships);
-        extractTextList(experienceBox, data.experience);
-
-        // Custom fields
-        for (Map.Entry<String, TextField> entry : fields.entrySet()) {
-            String key = entry.getKey();
-            if (!List.of("Full Name", "Email", "Phone").contains(key)) {
-                data.customFields.put(key, entry.getValue().getText());
-            }
+    // Edited template files show up in the preview without a restart
+    TemplateEngine templates = TemplateEngine.getInstance();
+    templates.addListener(() -> Platform.runLater(() -> {
+        if (templateSelector != null) {
+            String selected = document.selectedTemplate.get();
+            templateSelector.getItems().setAll(templates.names());
+            document.selectedTemplate.set(selected);
         }
+        requestPreview();
+    }));
+    templates.startWatching();
+
+    // Replay the last session if it did not shut down cleanly
+    Path autosaveDir = EditJournal.defaultDirectory();
+    ResumeData recovered = null;
+    boolean recoveryFailed = false;
+    try {
+        recovered = EditJournal.recover(autosaveDir);
+    } catch (IOException e) {
+        // A damaged journal has been moved aside; start from an empty resume
+        e.printStackTrace();
+        recoveryFailed = true;
+    }
+    if (recovered != null) {
+        document.load(recovered);
+    }
+    journal = new EditJournal(autosaveDir, document.snapshot());
+    document.setEditListener(journal);
 
-        // Profile photo path
-        if (profileImageFile != null) {
-            data.profilePhotoPath = profileImageFile.getAbsolutePath();
-        }
+    primaryStage.titleProperty().bind(i18n.text("title"));
+    primaryStage.setScene(scene);
+    primaryStage.show();
+    if (recovered != null) {
+        Platform.runLater(() -> showAlert("Recovered", "Unsaved changes from your last session were restored."));
+    } else if (recoveryFailed) {
+        Platform.runLater(() -> showAlert("Not recovered", "Unsaved changes from your last session could not be restored."));
+    }
+}
 
-        // Styling options
-        if (colorPicker != null) {
-            data.fontColor = colorPicker.getValue().toString();
-        }
-        if (fontStyleBox != null) {
-            data.fontStyle = fontStyleBox.getValue();
-        }
-        if (fontSizeSpinner != null) {
-            data.fontSize = fontSizeSpinner.getValue();
+    @Override
+    public void stop() {
+        // A clean exit does not need recovery next time
+        if (journal != null) {
+            journal.close(true);
         }
-        if (marginSpinner != null) {
-            data.margin = marginSpinner.getValue();
+        if (exportTask != null) {
+            exportTask.cancel();
         }
-        if (boldCheck != null) {
-            data.bold = boldCheck.isSelected();
+        exportExecutor.shutdownNow();
+        if (draftLibrary != null) {
+            draftLibrary.dispose();
         }
-        if (italicCheck != null) {
-            data.italic = italicCheck.isSelected();
+        if (pagePreview != null) {
+            pagePreview.dispose();
         }
+    }
 
-        // Template
-        if (templateSelector != null) {
-            data.selectedTemplate = templateSelector.getValue();
-        }
+
+
+    private void saveDraft() {
+        ResumeData data = document.snapshot();
 
         // Save as JSON
         FileChooser chooser = new FileChooser();
         chooser.setTitle("Save Resume Draft");
-        chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON Files", "*.json"));
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("JSON Files", "*.json"),
+                new FileChooser.ExtensionFilter("Resume Archive", "*.rmdb"));
         File file = chooser.showSaveDialog(null);
 
         if (file != null) {
             try {
-                Gson gson = new GsonBuilder().setPrettyPrinting().create();
-                FileOutputStream fos = new FileOutputStream(file);
-                fos.write(gson.toJson(data).getBytes());
-                fos.close();
+                ResumeEvents.DraftIO event = new ResumeEvents.DraftIO("save", isArchive(file) ? "rmdb" : "json");
+                if (isArchive(file)) {
+                    BinaryDraftStore.write(file.toPath(), List.of(data));
+                } else {
+                    DraftStore.save(data, file.toPath());
+                }
+                event.bytes = Files.size(file.toPath());
+                ResumeMetrics.getInstance().record(event);
                 showAlert("Success", "Resume draft saved successfully.");
             } catch (Exception ex) {
                 showAlert("Error", "Failed to save draft:\n" + ex.getMessage());
@@ -190,193 +245,121 @@ public void start(Stage primaryStage) {
     private void loadDraft() {
         FileChooser fc = new FileChooser();
         fc.setTitle("Load Draft");
-        fc.getExtensionFilters().add(new FileChooser.ExtensionFilter("JSON Files", "*.json"));
+        fc.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("JSON Files", "*.json"),
+                new FileChooser.ExtensionFilter("Resume Archive", "*.rmdb"));
         File file = fc.showOpenDialog(null);
         if (file != null) {
             try {
-                Gson gson = new Gson();
-                ResumeData data = gson.fromJson(new FileReader(file), ResumeData.class);
-
-                // Basic fields
-                if (data.fullName != null) fields.get("Full Name").setText(data.fullName);
-                if (data.email != null) fields.get("Email").setText(data.email);
-                if (data.phone != null) fields.get("Phone").setText(data.phone);
-
-                // Custom fields
-                for (Map.Entry<String, String> entry : data.customFields.entrySet()) {
-                    String k = entry.getKey();
-                    String v = entry.getValue();
-                    if (fields.containsKey(k)) {
-                        fields.get(k).setText(v);
-                    } else {
-                        TextField tf = new TextField(v);
-                        fields.put(k, tf);
-                        formPane.getChildren().add(formPane.getChildren().size() - 1, new Label(k));
-                        formPane.getChildren().add(formPane.getChildren().size() - 1, tf);
+                ResumeEvents.DraftIO event = new ResumeEvents.DraftIO("load", isArchive(file) ? "rmdb" : "json");
+                ResumeData data;
+                if (isArchive(file)) {
+                    // An archive may hold many drafts; the editor opens the first one
+                    try (BinaryDraftStore store = BinaryDraftStore.open(file.toPath())) {
+                        if (store.size() == 0) throw new IOException("Archive contains no drafts");
+                        data = store.read(0);
                     }
+                } else {
+                    data = DraftStore.load(file.toPath());
                 }
-
-                // Clear existing
-                educationBox.getChildren().clear();
-                skillsBox.getChildren().clear();
-                internshipBox.getChildren().clear();
-                experienceBox.getChildren().clear();
-                projectBox.getChildren().clear();
-
-                // Education
-                for (String[] edu : data.education) {
-                    TextField course = new TextField(edu.length > 0 ? edu[0] : "");
-                    TextField stream = new TextField(edu.length > 1 ? edu[1] : "");
-                    TextField institute = new TextField(edu.length > 2 ? edu[2] : "");
-                    TextField grade = new TextField(edu.length > 3 ? edu[3] : "");
-                    TextField year = new TextField(edu.length > 4 ? edu[4] : "");
-                    
-                    course.setPromptText("Course Name");
-                    stream.setPromptText("Stream");
-                    institute.setPromptText("Institute");
-                    grade.setPromptText("Grade/Score");
-                    year.setPromptText("Year of Passing");
-                    
-                    HBox row = new HBox(10, course, stream, institute, grade, year);
-                    educationBox.getChildren().add(row);
-                }
-
-                // Restore other dynamic sections
-                populateTextList(skillsBox, data.skills, "Skills info");
-                populateTextList(internshipBox, data.internships, "Internship info");
-                populateTextList(experienceBox, data.experience, "Experience info");
-                populateTextList(projectBox, data.projects, "Projects info");
-
-                // Profile image
-                if (data.profilePhotoPath != null) {
-                    File img = new File(data.profilePhotoPath);
-                    if (img.exists()) {
-                        profileImageFile = img;
-                    }
-                }
-
-                // Styling options
-                if (colorPicker != null && data.fontColor != null) {
-                    try {
-                        colorPicker.setValue(Color.valueOf(data.fontColor));
-                    } catch (Exception e) {
-                        // ignore invalid color
-                    }
-                }
-                if (fontStyleBox != null && data.fontStyle != null) {
-                    fontStyleBox.setValue(data.fontStyle);
-                }
-                if (fontSizeSpinner != null && data.fontSize != null) {
-                    fontSizeSpinner.getValueFactory().setValue(data.fontSize);
-                }
-                if (marginSpinner != null && data.margin != null) {
-                    marginSpinner.getValueFactory().setValue(data.margin);
-                }
-                if (boldCheck != null) {
-                    boldCheck.setSelected(data.bold);
-                }
-                if (italicCheck != null) {
-                    italicCheck.setSelected(data.italic);
-                }
-                if (templateSelector != null && data.selectedTemplate != null) {
-                    templateSelector.setValue(data.selectedTemplate);
-                }
-
-                showAlert("Loaded", "Resume draft loaded successfully!");
-                if (previewBox != null) {
-                    updatePreview();
-                }
+                event.bytes = Files.size(file.toPath());
+                ResumeMetrics.getInstance().record(event);
+                openDraft(data);
             } catch (Exception e) {
                 showAlert("Error", "Failed to load draft:\n" + e.getMessage());
                 e.printStackTrace();
+                return;
             }
+            showAlert("Loaded", "Resume draft loaded successfully!");
         }
     }
 
-    private void extractTextList(VBox box, List<String> list) {
-        for (javafx.scene.Node node : box.getChildren()) {
-            if (node instanceof TextField) {
-                TextField tf = (TextField) node;
-                list.add(tf.getText());
-            }
-        }
+    // One change notification for the whole draft, so one preview render
+    private void openDraft(ResumeData data) {
+        document.load(data);
+        journal.reset(document.snapshot());
     }
 
-    private void populateTextList(VBox box, List<String> list, String promptText) {
-        for (String item : list) {
-            TextField tf = new TextField(item);
-            tf.setPromptText(promptText);
-            box.getChildren().add(tf);
+    // Lists a drafts folder by name, email and template; drafts are parsed only when opened
+    private void showDraftLibrary() {
+        if (draftLibrary == null) {
+            draftLibrary = new DraftLibrary(scene.getWindow(), (file, data) -> {
+                openDraft(data);
+                showAlert("Loaded", "Resume draft loaded successfully!");
+            });
+            String dir = System.getProperty("resume.draftsDir");
+            draftLibrary.show(dir == null ? null : Paths.get(dir));
+        } else {
+            draftLibrary.show(draftLibrary.getFolder());
         }
     }
 
+    private static boolean isArchive(File file) {
+        return file.getName().toLowerCase().endsWith(".rmdb");
+    }
+
     private void setupFormPane() {
         formPane = new VBox(10);
         formPane.setPadding(new Insets(15));
         formPane.setPrefWidth(700);
+        formPane.getChildren().add(languagePicker());
 
-        String[] staticFields = {"Full Name", "Email", "Phone"};
-        for (String field : staticFields) {
+        Map<String, StringProperty> staticFields = new LinkedHashMap<>();
+        staticFields.put("label.name", document.fullName);
+        staticFields.put("label.email", document.email);
+        staticFields.put("label.phone", document.phone);
+        for (Map.Entry<String, StringProperty> field : staticFields.entrySet()) {
             TextField tf = new TextField();
-            tf.setPromptText(field);
-            fields.put(field, tf);
-            tf.textProperty().addListener((obs, oldVal, newVal) -> updatePreview());
-            formPane.getChildren().addAll(new Label(field), tf);
+            tf.promptTextProperty().bind(i18n.text(field.getKey()));
+            tf.textProperty().bindBidirectional(field.getValue());
+            formPane.getChildren().addAll(label(field.getKey()), tf);
         }
 
          // ✅ Objective field (TextArea)
-        Label objLabel = new Label("Objective");
+        Label objLabel = label("label.objective");
         objectiveArea = new TextArea();
-        objectiveArea.setPromptText("Write your career objective...");
+        objectiveArea.promptTextProperty().bind(i18n.text("prompt.objective"));
         objectiveArea.setPrefRowCount(3);
-        objectiveArea.textProperty().addListener((obs, oldVal, newVal) -> updatePreview());
+        objectiveArea.textProperty().bindBidirectional(document.objective);
         formPane.getChildren().addAll(objLabel, objectiveArea);
-        // Clear existing content
-        educationBox.getChildren().clear();
-        skillsBox.getChildren().clear();
-        internshipBox.getChildren().clear();
-        experienceBox.getChildren().clear();
-        projectBox.getChildren().clear();
 
+        // Only the visible rows of each section have live controls
         formPane.getChildren().addAll(
-            createDynamicSection("Education", educationBox),
-            createDynamicSection("Skills", skillsBox),
-            createDynamicSection("Internship", internshipBox),
-            createDynamicSection("Experience", experienceBox),
-            createDynamicSection("Projects", projectBox)
+            createDynamicSection("section.education", EntryListEditor.education(document.education), ResumeDocument.EducationEntry::new),
+            createDynamicSection("section.skills", EntryListEditor.text(document.skills, "prompt.skills"), ResumeDocument.TextEntry::new),
+            createDynamicSection("section.internship", EntryListEditor.text(document.internships, "prompt.internship"), ResumeDocument.TextEntry::new),
+            createDynamicSection("section.experience", EntryListEditor.text(document.experience, "prompt.experience"), ResumeDocument.TextEntry::new),
+            createDynamicSection("section.projects", EntryListEditor.text(document.projects, "prompt.projects"), ResumeDocument.TextEntry::new)
         );
 
-        Button photoBtn = new Button("Upload Photo");
+        Button photoBtn = button("button.uploadPhoto");
         photoBtn.setOnAction(e -> {
             FileChooser chooser = new FileChooser();
             chooser.setTitle("Choose Profile Image");
             chooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("Image Files", "*.jpg", "*.png", "*.jpeg"));
-            profileImageFile = chooser.showOpenDialog(null);
-            updatePreview();
+            File chosen = chooser.showOpenDialog(null);
+            document.profilePhotoPath.set(chosen == null ? "" : chosen.getAbsolutePath());
         });
 
-        Button addCustomFieldBtn = new Button("Add Custom Field");
-        addCustomFieldBtn.setOnAction(e ->{
-            addCustomField();
-            updatePreview();
-        });
+        Button addCustomFieldBtn = button("button.addCustomField");
+        addCustomFieldBtn.setOnAction(e -> addCustomField());
 
-        formPane.getChildren().addAll(photoBtn, addCustomFieldBtn);
+        customFieldsList = EntryListEditor.customFields(document.customFields);
+        formPane.getChildren().addAll(photoBtn, addCustomFieldBtn, customFieldsList);
 
         // Initialize save and load buttons
-        saveBtn = new Button("Save Draft");
-        loadBtn = new Button("Load Draft");
+        saveBtn = button("button.saveDraft");
+        loadBtn = button("button.loadDraft");
         
         saveBtn.setOnAction(e -> saveDraft());
         loadBtn.setOnAction(e -> loadDraft());
+        Button libraryBtn = button("button.library");
+        libraryBtn.setOnAction(e -> showDraftLibrary());
 
-        Button nextBtn = new Button("Next");
-        nextBtn.setOnAction(e -> {
-            setupStylingPane();
-            rootStack.getChildren().setAll(stylingPane);
-        });
+        Button nextBtn = button("button.next");
+        nextBtn.setOnAction(e -> showStylingPane());
 
-        HBox navButtons = new HBox(10, saveBtn, loadBtn, nextBtn);
+        HBox navButtons = new HBox(10, saveBtn, loadBtn, libraryBtn, nextBtn);
         navButtons.setPadding(new Insets(10));
         formPane.getChildren().add(navButtons);
     }
@@ -385,96 +368,78 @@ public void start(Stage primaryStage) {
         stylingPane = new VBox(10);
         stylingPane.setPadding(new Insets(15));
 
-        colorPicker = new ColorPicker(Color.BLACK);
+        // Bound to the document, so loading a draft updates the same controls
+        colorPicker = new ColorPicker(COLOR_CONVERTER.fromString(document.fontColor.get()));
+        Bindings.bindBidirectional(document.fontColor, colorPicker.valueProperty(), COLOR_CONVERTER);
         fontStyleBox = new ComboBox<>();
         fontStyleBox.getItems().addAll("Arial", "Times New Roman", "Verdana", "Tahoma", "Courier New", "Georgia", "Comic Sans MS", "Trebuchet MS", "Impact", "Lucida Console");
-        fontStyleBox.setValue("Arial");
+        fontStyleBox.valueProperty().bindBidirectional(document.fontStyle);
 
         fontSizeSpinner = new Spinner<>(8, 48, 12);
+        fontSizeSpinner.getValueFactory().valueProperty().bindBidirectional(document.fontSize);
         marginSpinner = new Spinner<>(0, 100, 20);
-        boldCheck = new CheckBox("Bold");
-        italicCheck = new CheckBox("Italic");
-
-        Button backToForm = new Button("Back");
+        marginSpinner.getValueFactory().valueProperty().bindBidirectional(document.margin);
+        boldCheck = new CheckBox();
+        boldCheck.textProperty().bind(i18n.text("check.bold"));
+        boldCheck.selectedProperty().bindBidirectional(document.bold);
+        italicCheck = new CheckBox();
+        italicCheck.textProperty().bind(i18n.text("check.italic"));
+        italicCheck.selectedProperty().bindBidirectional(document.italic);
+
+        Button backToForm = button("button.back");
         backToForm.setOnAction(e -> rootStack.getChildren().setAll(scrollPane));
 
-        Button nextToTemplate = new Button("Next");
-        nextToTemplate.setOnAction(e -> {
-            setupTemplatePane();
-            rootStack.getChildren().setAll(templatePane);
-        });
+        Button nextToTemplate = button("button.next");
+        nextToTemplate.setOnAction(e -> showTemplatePane());
 
         HBox navButtons = new HBox(10, backToForm, nextToTemplate);
 
         stylingPane.getChildren().addAll(
-            new Label("Select Font Color"), colorPicker,
-            new Label("Font Style"), fontStyleBox,
-            new Label("Font Size"), fontSizeSpinner,
-            new Label("Page Margin"), marginSpinner,
+            label("label.fontColor"), colorPicker,
+            label("label.fontStyle"), fontStyleBox,
+            label("label.fontSize"), fontSizeSpinner,
+            label("label.margin"), marginSpinner,
             boldCheck, italicCheck,
             navButtons
         );
-        ScrollPane stylingScrollPane = new ScrollPane(stylingPane);
-        stylingScrollPane.setFitToWidth(true);
-        stylingScrollPane.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-        stylingScrollPane.setPadding(new Insets(10));
-
-        // ✅ Add scrollable styling pane to rootStack
-        rootStack.getChildren().setAll(stylingScrollPane);
+        stylingRoot = new ScrollPane(stylingPane);
+        stylingRoot.setFitToWidth(true);
+        stylingRoot.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
+        stylingRoot.setPadding(new Insets(10));
     }
 
-    private VBox createDynamicSection(String label, VBox container) {
-        Label sectionLabel = new Label(label);
-        sectionLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
-
-        Button addBtn = new Button("+ Add");
-        addBtn.setOnAction(e -> {
-           if (label.equals("Education")) {
-                TextField courseField = new TextField();
-                courseField.setPromptText("Course Name");
-
-                TextField streamField = new TextField();
-                streamField.setPromptText("Stream");
-
-                TextField instituteField = new TextField();
-                instituteField.setPromptText("Institute");
-
-                TextField gradeField = new TextField();
-                gradeField.setPromptText("Grade/Score");
-
-                TextField yearField = new TextField();
-                yearField.setPromptText("Year of Passing");
-
-                HBox row = new HBox(10); // ✅ Correctly declare HBox before use
-
-                Button cutBtn = new Button("×");
-                cutBtn.setStyle("-fx-text-fill: red; -fx-font-weight: bold; -fx-background-color: transparent;");
-
-                cutBtn.setOnAction(ev -> container.getChildren().remove(row)); // ✅ Now 'row' is known
-
-                row.getChildren().addAll(courseField, streamField, instituteField, gradeField, yearField, cutBtn);
-                container.getChildren().add(row);
-            } else {
-                    TextField tf = new TextField();
-                    tf.setPromptText(label + " info");
-
-                    Button cutBtn = new Button("×");
-                    cutBtn.setStyle("-fx-text-fill: red; -fx-font-weight: bold; -fx-background-color: transparent;");
-
-                    HBox row = new HBox(10, tf, cutBtn);
-                    row.setAlignment(Pos.CENTER_LEFT);
+    private void showStylingPane() {
+        if (stylingRoot == null) setupStylingPane();
+        rootStack.getChildren().setAll(stylingRoot);
+    }
 
-                    cutBtn.setOnAction(ev -> container.getChildren().remove(row)); // ✅ use correct variable
+    // The preview skips updates while hidden, so catch up on whatever changed meanwhile
+    private void showTemplatePane() {
+        boolean firstVisit = templateRoot == null;
+        if (firstVisit) setupTemplatePane();
+        rootStack.getChildren().setAll(templateRoot);
+        if (firstVisit) {
+            updatePreview();
+            Platform.runLater(() -> templateRoot.setVvalue(1.0));
+        } else {
+            requestPreview();
+        }
+    }
 
-                    container.getChildren().add(row);
-                }
-                formPane.requestLayout(); // Ensure layout refresh
-                Platform.runLater(() -> scrollPane.setVvalue(1.0));
+    private <T> VBox createDynamicSection(String titleKey, ListView<T> editor, Supplier<T> newEntry) {
+        Label sectionLabel = label(titleKey);
+        sectionLabel.getStyleClass().add("section-title");
 
+        Button addBtn = button("button.add");
+        addBtn.setOnAction(e -> {
+            editor.getItems().add(newEntry.get());
+            editor.scrollTo(editor.getItems().size() - 1);
+            formPane.requestLayout(); // Ensure layout refresh
+            Platform.runLater(() -> scrollPane.setVvalue(1.0));
         });
 
         HBox header = new HBox(10, sectionLabel, addBtn);
-        VBox section = new VBox(5, header, container);
+        VBox section = new VBox(5, header, editor);
         return section;
     }
 
@@ -484,26 +449,30 @@ public void start(Stage primaryStage) {
 
         // Template selection
         VBox selectorBox = new VBox(10);
-        selectorBox.getChildren().add(new Label("Select Template Style"));
+        selectorBox.getChildren().add(label("label.templateStyle"));
         templateSelector = new ComboBox<>();
-        templateSelector.getItems().addAll("Modern", "Classic", "Dark");
-        templateSelector.setValue("Modern");
-        templateSelector.setOnAction(e -> updatePreview());
+        templateSelector.getItems().setAll(TemplateEngine.getInstance().names());
+        templateSelector.valueProperty().bindBidirectional(document.selectedTemplate);
         selectorBox.getChildren().add(templateSelector);
+        pagePreviewCheck = new CheckBox();
+        pagePreviewCheck.textProperty().bind(i18n.text("check.pagePreview"));
+        pagePreviewCheck.selectedProperty().addListener((obs, old, exact) -> {
+            previewScrollPane.setContent(exact ? pagePreview().getRoot() : previewBox);
+            requestPreview();
+        });
+        selectorBox.getChildren().add(pagePreviewCheck);
         selectorBox.setPrefWidth(200);
         selectorBox.setPadding(new Insets(10));
 
         // Preview box
-        previewBox = new VBox(5);
-        
-        previewBox.setPadding(new Insets(10));
-        previewBox.setStyle("-fx-border-color: gray; -fx-border-width: 1; -fx-background-color: #f9f9f9;");
+        preview = new ResumePreview();
+        previewBox = preview.getRoot();
+
         previewBox.setMinHeight(Region.USE_COMPUTED_SIZE);
         previewBox.setPrefHeight(Region.USE_COMPUTED_SIZE);
         previewBox.setMaxHeight(Double.MAX_VALUE);
         previewBox.setMaxWidth(Double.MAX_VALUE);
         VBox.setVgrow(previewBox, Priority.ALWAYS); 
-        updatePreview();
 
         previewScrollPane = new ScrollPane(previewBox);
         previewScrollPane.setFitToWidth(true);
@@ -516,19 +485,20 @@ public void start(Stage primaryStage) {
         VBox.setVgrow(previewScrollPane, Priority.ALWAYS);
 
         // Navigation buttons
-        Button backToStyle = new Button("Back");
-        backToStyle.setOnAction(e -> rootStack.getChildren().setAll(stylingPane));
+        Button backToStyle = button("button.back");
+        backToStyle.setOnAction(e -> showStylingPane());
 
-        Button exportBtn = new Button("Export to PDF");
+        exportBtn = button("button.export");
+        exportBtn.setDisable(exportTask != null);
         exportBtn.setOnAction(e -> exportToStylishPDF());
 
-        Button saveBtnTemplate = new Button("Save Draft");
+        Button saveBtnTemplate = button("button.saveDraft");
         saveBtnTemplate.setOnAction(e -> saveDraft());
 
-        Button loadBtnTemplate = new Button("Load Draft");
+        Button loadBtnTemplate = button("button.loadDraft");
         loadBtnTemplate.setOnAction(e -> loadDraft());
 
-        HBox navButtons = new HBox(10, backToStyle, saveBtnTemplate, loadBtnTemplate, exportBtn);
+        HBox navButtons = new HBox(10, backToStyle, saveBtnTemplate, loadBtnTemplate, exportBtn, exportStatus);
         navButtons.setPadding(new Insets(10));
 
         // Assemble layout
@@ -545,14 +515,11 @@ public void start(Stage primaryStage) {
         container.setMaxWidth(Double.MAX_VALUE);
         container.getChildren().add(templateLayout);
 
-        ScrollPane fullTemplateScroll = new ScrollPane(container);
-        fullTemplateScroll.setFitToWidth(true);
-        fullTemplateScroll.setFitToHeight(false); // Important!
-        fullTemplateScroll.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
-        fullTemplateScroll.setPadding(new Insets(10));
-
-        rootStack.getChildren().setAll(fullTemplateScroll);
-        Platform.runLater(() -> fullTemplateScroll.setVvalue(1.0));
+        templateRoot = new ScrollPane(container);
+        templateRoot.setFitToWidth(true);
+        templateRoot.setFitToHeight(false); // Important!
+        templateRoot.setVbarPolicy(ScrollPane.ScrollBarPolicy.AS_NEEDED);
+        templateRoot.setPadding(new Insets(10));
     }
 
     private void exportToStylishPDF() {
@@ -562,168 +529,72 @@ public void start(Stage primaryStage) {
         File file = fileChooser.showSaveDialog(null);
 
         if (file != null) {
-            try {
-                Document document = new Document();
-                PdfWriter.getInstance(document, new FileOutputStream(file));
-                document.setMargins(marginSpinner.getValue(), marginSpinner.getValue(), marginSpinner.getValue(), marginSpinner.getValue());
-                document.open();
-
-                int style = (boldCheck.isSelected() ? Font.BOLD : 0) | (italicCheck.isSelected() ? Font.ITALIC : 0);
-                BaseColor fontColor = new BaseColor(
-                        (float) colorPicker.getValue().getRed(),
-                        (float) colorPicker.getValue().getGreen(),
-                        (float) colorPicker.getValue().getBlue()
-                );
-
-                Font baseFont = FontFactory.getFont(FontFactory.HELVETICA, fontSizeSpinner.getValue(), style, fontColor);
-                Font sectionFont = FontFactory.getFont(FontFactory.HELVETICA, fontSizeSpinner.getValue() + 4, Font.BOLD, BaseColor.DARK_GRAY);
-                
-                // Header with photo
-                PdfPTable headerTable = new PdfPTable(2);
-                headerTable.setWidthPercentage(100);
-                headerTable.setWidths(new int[]{3, 1});
-
-                PdfPCell nameCell = new PdfPCell();
-                nameCell.setBorder(Rectangle.NO_BORDER);
-                nameCell.addElement(new Paragraph(fields.get("Full Name").getText(), new Font(Font.FontFamily.HELVETICA, 16, Font.BOLD)));
-                nameCell.addElement(new Paragraph(fields.get("Email").getText(), baseFont));
-                nameCell.addElement(new Paragraph(fields.get("Phone").getText(), baseFont));
-                headerTable.addCell(nameCell);
-
-                if (profileImageFile != null) {
-                    try {
-                        com.itextpdf.text.Image img = com.itextpdf.text.Image.getInstance(profileImageFile.getAbsolutePath());
-                        img.scaleToFit(100, 100);
-                        PdfPCell imgCell = new PdfPCell(img);
-                        imgCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
-                        imgCell.setBorder(Rectangle.NO_BORDER);
-                        headerTable.addCell(imgCell);
-                    } catch (Exception imgEx) {
-                        PdfPCell empty = new PdfPCell();
-                        empty.setBorder(Rectangle.NO_BORDER);
-                        headerTable.addCell(empty);
-                    }
-                } else {
-                    PdfPCell empty = new PdfPCell();
-                    empty.setBorder(Rectangle.NO_BORDER);
-                    headerTable.addCell(empty);
-                }
+            // Rendered from a snapshot, so editing can carry on while the export runs
+            PdfExportTask task = new PdfExportTask(renderCache(), document.snapshot(), file);
+            task.setOnSucceeded(e -> {
+                exportFinished();
+                showAlert("Success", "Resume exported successfully!");
+            });
+            task.setOnFailed(e -> {
+                exportFinished();
+                Throwable error = task.getException();
+                showAlert("Error", "Failed to export PDF:\n" + (error != null ? error.getMessage() : "unknown error"));
+                if (error != null) error.printStackTrace();
+            });
+            task.setOnCancelled(e -> exportFinished());
+
+            exportTask = task;
+            exportProgress.progressProperty().bind(task.progressProperty());
+            exportMessage.textProperty().bind(task.messageProperty());
+            exportStatus.setVisible(true);
+            if (exportBtn != null) exportBtn.setDisable(true);
+            exportExecutor.execute(task);
+        }
+    }
 
-                document.add(headerTable);
-                document.add(Chunk.NEWLINE);
-
-                // Helper to add section headers
-                Consumer<String> lineSeparator = title -> {
-                    try {
-                        Paragraph heading = new Paragraph(title.toUpperCase(), sectionFont);
-                        heading.setSpacingBefore(10);
-                        heading.setSpacingAfter(5);
-                        heading.setAlignment(Element.ALIGN_LEFT);
-                        document.add(heading);
-                        document.add(new Chunk(new com.itextpdf.text.pdf.draw.LineSeparator(1, 100, BaseColor.LIGHT_GRAY, Element.ALIGN_LEFT, -2f)));
-                    } catch (Exception ignored) {}
-                };
-
-                // Helper to add bullet lists
-               Consumer<VBox> addDynamicSection = (box) -> {
-    com.itextpdf.text.List list = new com.itextpdf.text.List(false, 15);
-    list.setListSymbol(new Chunk("\u2022 ", baseFont));
-
-    // Recursive method to find and collect text from all TextInputControls
-    Consumer<javafx.scene.Node> extractTexts = new Consumer<>() {
-        @Override
-        public void accept(javafx.scene.Node node) {
-            if (node instanceof TextInputControl) {
-                String text = ((TextInputControl) node).getText();
-                if (!text.trim().isEmpty()) {
-                    list.add(new ListItem(text, baseFont));
-                }
-            } else if (node instanceof Pane) {
-                for (javafx.scene.Node child : ((Pane) node).getChildrenUnmodifiable()) {
-                    this.accept(child); // Recurse into child containers
-                }
+    // Created on first export; without a usable cache folder, PDFs are cached in memory only
+    private RenderCache renderCache() {
+        if (renderCache == null) {
+            try {
+                renderCache = RenderCache.createDefault();
+            } catch (IOException e) {
+                e.printStackTrace();
+                renderCache = new RenderCache(RenderCache.DEFAULT_MEMORY_BYTES);
             }
         }
-    };
-
-    // Start traversal from the top-level VBox
-    for (javafx.scene.Node node : box.getChildren()) {
-        extractTexts.accept(node);
+        return renderCache;
     }
 
-    if (!list.isEmpty()) {
-        try {
-            document.add(list);
-            document.add(Chunk.NEWLINE);
-        } catch (DocumentException e) {
-            e.printStackTrace();
+    private PagePreview pagePreview() {
+        if (pagePreview == null) {
+            pagePreview = new PagePreview(previewScrollPane.widthProperty().subtract(40),
+                    Float.parseFloat(System.getProperty("resume.pagePreviewDpi", String.valueOf(PagePreview.DEFAULT_DPI))),
+                    Long.getLong("resume.pagePreviewBytes", PagePreview.DEFAULT_BUDGET_BYTES));
         }
+        return pagePreview;
     }
-};
-
-
-
-                // Education section
-                lineSeparator.accept("Education");
-                com.itextpdf.text.List eduList = new com.itextpdf.text.List(false, 15);
-                for (javafx.scene.Node node : educationBox.getChildren()) {
-                    if (node instanceof HBox) {
-                        HBox row = (HBox) node;
-                        if (row.getChildren().size() >= 5) {
-                            String course = ((TextField) row.getChildren().get(0)).getText();
-                            String stream = ((TextField) row.getChildren().get(1)).getText();
-                            String institute = ((TextField) row.getChildren().get(2)).getText();
-                            String grade = ((TextField) row.getChildren().get(3)).getText();
-                            String year = ((TextField) row.getChildren().get(4)).getText();
-
-                            if (!course.isEmpty() || !stream.isEmpty() || !institute.isEmpty() || !grade.isEmpty() || !year.isEmpty()) {
-                                Paragraph item = new Paragraph();
-                                item.add(new Chunk(year + "  ", baseFont));
-                                item.add(new Chunk(institute + "\n", new Font(baseFont.getFamily(), baseFont.getSize(), Font.BOLD)));
-                                item.add(new Chunk(course + (stream.isEmpty() ? "" : " (" + stream + ")") + "\n", baseFont));
-                                if (!grade.isEmpty())
-                                    item.add(new Chunk(grade, baseFont));
-                                eduList.add(new ListItem(item));
-                            }
-                        }
-                    }
-                }
-                document.add(eduList);
-                document.add(Chunk.NEWLINE);
-
-                // Other sections
-                lineSeparator.accept("Skills");
-                addDynamicSection.accept(skillsBox);
-
-                lineSeparator.accept("Internship");
-                addDynamicSection.accept(internshipBox);
-
-                lineSeparator.accept("Experience");
-                addDynamicSection.accept(experienceBox);
-
-                lineSeparator.accept("Projects");
-                addDynamicSection.accept(projectBox);
-
-                // Custom fields
-                for (Map.Entry<String, TextField> entry : fields.entrySet()) {
-                    String key = entry.getKey();
-                    if (!key.equals("Full Name") && !key.equals("Email") && !key.equals("Phone")) {
-                        String value = entry.getValue().getText();
-                        if (!value.trim().isEmpty()) {
-                            lineSeparator.accept(key);
-                            document.add(new Paragraph(value, baseFont));
-                            document.add(Chunk.NEWLINE);
-                        }
-                    }
-                }
 
-                document.close();
-                showAlert("Success", "Resume exported successfully!");
-            } catch (Exception e) {
-                showAlert("Error", "Failed to export PDF:\n" + e.getMessage());
-                e.printStackTrace();
-            }
-        }
+    // Progress bar, current section and a Cancel button, shown while an export runs
+    private void setupExportStatus() {
+        exportProgress = new ProgressBar(0);
+        exportProgress.setPrefWidth(120);
+        exportMessage = new Label();
+        Button cancelBtn = button("button.cancel");
+        cancelBtn.setOnAction(e -> {
+            if (exportTask != null) exportTask.cancel();
+        });
+        exportStatus = new HBox(8, exportProgress, exportMessage, cancelBtn);
+        exportStatus.setAlignment(Pos.CENTER_LEFT);
+        exportStatus.setVisible(false);
+        exportStatus.managedProperty().bind(exportStatus.visibleProperty());
+    }
+
+    private void exportFinished() {
+        exportProgress.progressProperty().unbind();
+        exportMessage.textProperty().unbind();
+        exportStatus.setVisible(false);
+        exportTask = null;
+        if (exportBtn != null) exportBtn.setDisable(false);
     }
 
     private void addCustomField() {
@@ -734,24 +605,8 @@ public void start(Stage primaryStage) {
 
     Optional<String> result = dialog.showAndWait();
     result.ifPresent(fieldName -> {
-        if (!fields.containsKey(fieldName)) {
-            TextField tf = new TextField();
-            fields.put(fieldName, tf);
-
-            Label labelNode = new Label(fieldName);
-            Button cutBtn = new Button("×");
-            cutBtn.setStyle("-fx-text-fill: red; -fx-font-weight: bold; -fx-background-color: transparent;");
-            
-            // Layout all in HBox for easy removal
-            HBox fieldRow = new HBox(10, labelNode, tf, cutBtn);
-            fieldRow.setPadding(new Insets(5, 0, 5, 0));
-
-            cutBtn.setOnAction(ev -> {
-                formPane.getChildren().remove(fieldRow);
-                fields.remove(fieldName);
-            });
-
-            formPane.getChildren().add(formPane.getChildren().size() - 1, fieldRow);
+        if (document.addCustomField(fieldName, "")) {
+            customFieldsList.scrollTo(document.customFields.size() - 1);
             Platform.runLater(() -> scrollPane.setVvalue(1.0));
         } else {
             showAlert("Warning", "Field already exists.");
@@ -759,158 +614,119 @@ public void start(Stage primaryStage) {
     });
 }
 
+    // Marks the preview dirty; the scheduler renders it at most once per pulse
+    private void requestPreview() {
+        if (previewScheduler != null) {
+            previewScheduler.requestUpdate();
+        }
+    }
+
     private void updatePreview() {
-        if (previewBox == null) return;
-
-        previewBox.getChildren().clear();
-
-        String selected = templateSelector.getValue();
-        String bgColor;
-        String textColor;
-        String titleStyle = "-fx-font-size: 16px; -fx-font-weight: bold;";
-        String sectionStyle = "-fx-font-size: 14px;";
-
-        switch (selected) {
-            case "Modern":
-                bgColor = "#f0f8ff";
-                textColor = "#333";
-                break;
-            case "Classic":
-                bgColor = "#fffaf0";
-                textColor = "#000";
-                break;
-            case "Dark":
-                bgColor = "#2b2b2b";
-                textColor = "#ffffff";
-                break;
-            default:
-                bgColor = "#f9f9f9";
-                textColor = "#000";
-                break;
+        // Not built yet, or another step is showing
+        if (templateRoot == null || templateRoot.getParent() == null) return;
+
+        // Laid out and rasterized in the background; only changed pages are redrawn
+        if (pagePreviewCheck.isSelected()) {
+            pagePreview().update(document.snapshot());
+            return;
         }
 
-    previewBox.setStyle("-fx-background-color: " + bgColor + "; -fx-border-color: gray; -fx-border-width: 1; -fx-padding: 10;");
+        // Colors and fonts come precompiled from the template files, as one stylesheet
+        preview.applyTemplate(TemplateEngine.getInstance().plan(document.selectedTemplate.get()));
 
     // Profile photo
-    if (profileImageFile != null) {
+    Node photo = null;
+    File photoFile = photoFile();
+    if (photoFile != null) {
         try {
-            javafx.scene.image.Image fxImage = new javafx.scene.image.Image(profileImageFile.toURI().toString(), 100, 100, true, true);
-            javafx.scene.image.ImageView imageView = new javafx.scene.image.ImageView(fxImage);
-            imageView.setFitWidth(100);
-            imageView.setFitHeight(100);
-            previewBox.getChildren().add(imageView);
+            // Decoded once in the background and reused until the file changes
+            profileImageView.setImage(thumbnailCache.get(photoFile, 100, 100));
+            photo = profileImageView;
         } catch (Exception e) {
             e.printStackTrace();
         }
     }
 
-    // Basic fields
-    Label name = new Label(fields.get("Full Name").getText());
-    name.setStyle(titleStyle + "; -fx-text-fill: " + textColor + ";");
-
-    Label email = new Label(fields.get("Email").getText());
-    Label phone = new Label(fields.get("Phone").getText());
-
-    for (Label label : new Label[]{email, phone}) {
-        label.setStyle(sectionStyle + "; -fx-text-fill: " + textColor + ";");
+    long nodesBefore = preview.getNodesCreated();
+    long layoutsBefore = preview.getLayoutPasses();
+    ResumeEvents.PreviewUpdate event = new ResumeEvents.PreviewUpdate();
+
+    // Only entries whose text changed are touched, the rest of the preview stays as is
+    preview.update(PreviewModel.build(document.snapshot()), photo);
+    event.nodesCreated = preview.getNodesCreated() - nodesBefore;
+    event.layoutPasses = preview.getLayoutPasses() - layoutsBefore;
+    ResumeMetrics.getInstance().record(event);
+
+    if (PREVIEW_STATS) {
+        // Style the changed labels now so their CSS cost can be timed on its own
+        long cssNanos = preview.applyCss();
+        System.out.println("Preview update: " + (preview.getNodesCreated() - nodesBefore) + " nodes created, "
+                + (preview.getLayoutPasses() - layoutsBefore) + " layout passes since last update, "
+                + String.format("%.3f ms CSS (%.3f ms avg), ", cssNanos / 1e6, preview.getCssNanos() / 1e6 / preview.getCssPasses())
+                + previewScheduler.getCoalescedCount() + " requests coalesced so far");
     }
+    Platform.runLater(() -> previewScrollPane.setVvalue(1.0));
+}
 
-    previewBox.getChildren().addAll(name, email, phone);
-
-    // Objective section (from TextArea)
-    if (objectiveArea != null && !objectiveArea.getText().trim().isEmpty()) {
-        Label objHeading = new Label("OBJECTIVE");
-        objHeading.setStyle(titleStyle + "; -fx-text-fill: " + textColor + ";");
-
-        Label objText = new Label(objectiveArea.getText().trim());
-        objText.setWrapText(true);
-        objText.setStyle(sectionStyle + "; -fx-text-fill: " + textColor + ";");
-
-        previewBox.getChildren().addAll(new Separator(), objHeading, objText);
-    }
 
-    previewBox.getChildren().add(new Separator());
-
-    // Education section
-    Label eduHeading = new Label("EDUCATION");
-    eduHeading.setStyle(titleStyle + "; -fx-text-fill: " + textColor + ";");
-    previewBox.getChildren().add(eduHeading);
-
-    for (Node node : educationBox.getChildren()) {
-        if (node instanceof HBox row && row.getChildren().size() >= 5) {
-            String course = ((TextField) row.getChildren().get(0)).getText();
-            String stream = ((TextField) row.getChildren().get(1)).getText();
-            String institute = ((TextField) row.getChildren().get(2)).getText();
-            String grade = ((TextField) row.getChildren().get(3)).getText();
-            String year = ((TextField) row.getChildren().get(4)).getText();
-
-            if (!institute.isEmpty() || !course.isEmpty() || !stream.isEmpty() || !year.isEmpty() || !grade.isEmpty()) {
-                Label entry = new Label("• " + institute + "\n" + course + " (" + stream + ")\n" + "Year: " + year + " | Score: " + grade);
-                entry.setStyle(sectionStyle + "; -fx-text-fill: " + textColor + ";");
-                previewBox.getChildren().add(entry);
+    // Switching language only swaps the text of the bound controls: no pane is rebuilt
+    private HBox languagePicker() {
+        ComboBox<Locale> languageBox = new ComboBox<>();
+        languageBox.getItems().setAll(i18n.getAvailableLocales());
+        languageBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(Locale locale) {
+                return locale == null ? "" : Localizer.displayName(locale);
             }
-        }
-    }
 
-    previewBox.getChildren().add(new Separator());
-
-    // Dynamic sections (Skills, Internship, etc.)
-    BiConsumer<String, VBox> bulletSection = (title, box) -> {
-        Label heading = new Label(title.toUpperCase());
-        heading.setStyle(titleStyle + "; -fx-text-fill: " + textColor + ";");
-        previewBox.getChildren().add(heading);
-
-        for (Node node : box.getChildren()) {
-            if (node instanceof TextField tf) {
-                String val = tf.getText();
-                if (!val.trim().isEmpty()) {
-                    Label bullet = new Label("• " + val);
-                    bullet.setStyle(sectionStyle + "; -fx-text-fill: " + textColor + ";");
-                    previewBox.getChildren().add(bullet);
-                }
-            } else if (node instanceof HBox hbox) {
-                for (Node field : hbox.getChildren()) {
-                    if (field instanceof TextField tf) {
-                        String val = tf.getText();
-                        if (!val.trim().isEmpty()) {
-                            Label bullet = new Label("• " + val);
-                            bullet.setStyle(sectionStyle + "; -fx-text-fill: " + textColor + ";");
-                            previewBox.getChildren().add(bullet);
-                        }
-                    }
-                }
+            @Override
+            public Locale fromString(String value) {
+                return null; // not editable
             }
-        }
-
-        previewBox.getChildren().add(new Separator());
-        
-    };
-
-    bulletSection.accept("Skills", skillsBox);
-    bulletSection.accept("Internship", internshipBox);
-    bulletSection.accept("Experience", experienceBox);
-    bulletSection.accept("Projects", projectBox);
+        });
+        languageBox.setValue(i18n.localeProperty().get());
+        languageBox.valueProperty().addListener((obs, old, locale) -> {
+            if (locale == null) return;
+            long start = System.nanoTime();
+            i18n.localeProperty().set(locale);
+            if (PREVIEW_STATS) {
+                System.out.println(String.format("Language switch to %s: %.3f ms", locale, (System.nanoTime() - start) / 1e6));
+            }
+        });
 
-    // Custom fields
-    for (Map.Entry<String, TextField> entry : fields.entrySet()) {
-        String key = entry.getKey();
-        if (!Set.of("Full Name", "Email", "Phone").contains(key)) {
-            String value = entry.getValue().getText();
-            if (!value.trim().isEmpty()) {
-                Label customHeading = new Label(key.toUpperCase());
-                customHeading.setStyle(titleStyle + "; -fx-text-fill: " + textColor + ";");
+        HBox picker = new HBox(10, label("label.language"), languageBox);
+        picker.setAlignment(Pos.CENTER_LEFT);
+        return picker;
+    }
 
-                Label customValue = new Label(value);
-                customValue.setStyle(sectionStyle + "; -fx-text-fill: " + textColor + ";");
+    private Label label(String key) {
+        Label label = new Label();
+        label.textProperty().bind(i18n.text(key));
+        return label;
+    }
 
-                previewBox.getChildren().addAll(customHeading, customValue, new Separator());
+    private Button button(String key) {
+        Button button = new Button();
+        button.textProperty().bind(i18n.text(key));
+        return button;
+    }
 
-            }
+    // Resources/light-theme.css, or dark-theme.css with -Dresume.theme=dark
+    private static String themeStylesheet() {
+        Path css = Paths.get("Resources", System.getProperty("resume.theme", "light") + "-theme.css");
+        if (!Files.isRegularFile(css)) {
+            System.err.println("Theme stylesheet not found: " + css.toAbsolutePath());
+            return null;
         }
+        return css.toUri().toString();
     }
-    Platform.runLater(() -> previewScrollPane.setVvalue(1.0));
-}
 
+    private File photoFile() {
+        String path = document.profilePhotoPath.get();
+        if (path == null || path.isEmpty()) return null;
+        File file = new File(path);
+        return file.exists() ? file : null;
+    }
 
     private void showAlert(String title, String message) {
         Alert alert = new Alert(AlertType.INFORMATION);
@@ -920,27 +736,6 @@ public void start(Stage primaryStage) {
         alert.showAndWait();
     }
 
-    // Data class for JSON serialization
-    public static class ResumeData {
-        public String fullName = "";
-        public String email = "";
-        public String phone = "";
-        public List<String[]> education = new ArrayList<>();
-        public List<String> skills = new ArrayList<>();
-        public List<String> projects = new ArrayList<>();
-        public List<String> internships = new ArrayList<>();
-        public List<String> experience = new ArrayList<>();
-        public Map<String, String> customFields = new LinkedHashMap<>();
-        public String profilePhotoPath = "";
-        public String fontColor = "#000000";
-        public String fontStyle = "Arial";
-        public Integer fontSize = 12;
-        public Integer margin = 20;
-        public boolean bold = false;
-        public boolean italic = false;
-        public String selectedTemplate = "Modern";
-    }
-
     public static void main(String[] args) {
         launch(args);
     }
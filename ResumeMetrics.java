@@ -0,0 +1,221 @@
+// Process-wide timers and counters behind ResumeMetricsMXBean. Registered with the
+// platform MBean server the first time it is used, so a JVM that never renders or
+// edits a resume publishes nothing. Thread-safe; recording is a few adder updates.
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+public final class ResumeMetrics implements ResumeMetricsMXBean {
+
+    public static final String OBJECT_NAME = "resumemaker:type=Metrics";
+
+    private static final ResumeMetrics INSTANCE = register(new ResumeMetrics());
+
+    // Count, total and maximum of one kind of measurement
+    private static final class Timer {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        void add(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+        }
+
+        double averageMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+        }
+
+        void reset() {
+            count.reset();
+            totalNanos.reset();
+            maxNanos.reset();
+        }
+    }
+
+    private final Timer preview = new Timer();
+    private final LongAdder previewNodes = new LongAdder();
+    private final Timer draftSaves = new Timer();
+    private final Timer draftLoads = new Timer();
+    private final LongAdder draftBytesWritten = new LongAdder();
+    private final LongAdder draftBytesRead = new LongAdder();
+    private final Timer exports = new Timer();
+    private final LongAdder exportsRendered = new LongAdder();
+    private final LongAdder exportBytes = new LongAdder();
+    private final Map<String, Timer> exportPhases = new ConcurrentHashMap<>();
+    private final Timer imageDecodes = new Timer();
+
+    private ResumeMetrics() {}
+
+    public static ResumeMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    private static ResumeMetrics register(ResumeMetrics metrics) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+        } catch (JMException | SecurityException e) {
+            // Still usable in-process (and through JFR) without JMX
+            System.err.println("Metrics not published over JMX: " + e);
+        }
+        return metrics;
+    }
+
+    // ---- Recording: ends the event, commits it to JFR and adds it to the totals ----
+
+    public void record(ResumeEvents.PreviewUpdate event) {
+        preview.add(end(event, event.startNanos));
+        previewNodes.add(event.nodesCreated);
+    }
+
+    public void record(ResumeEvents.DraftIO event) {
+        long nanos = end(event, event.startNanos);
+        if ("save".equals(event.operation)) {
+            draftSaves.add(nanos);
+            draftBytesWritten.add(event.bytes);
+        } else {
+            draftLoads.add(nanos);
+            draftBytesRead.add(event.bytes);
+        }
+    }
+
+    public void record(ResumeEvents.ExportPhase event) {
+        long nanos = end(event, event.startNanos);
+        exportPhases.computeIfAbsent(event.phase, p -> new Timer()).add(nanos);
+    }
+
+    public void record(ResumeEvents.Export event) {
+        exports.add(end(event, event.startNanos));
+        exportBytes.add(event.bytes);
+        if (event.rendered) exportsRendered.increment();
+    }
+
+    public void record(ResumeEvents.ImageDecode event) {
+        imageDecodes.add(end(event, event.startNanos));
+    }
+
+    private static long end(jdk.jfr.Event event, long startNanos) {
+        event.commit(); // a no-op unless a recording wants the event
+        return System.nanoTime() - startNanos;
+    }
+
+    // ---- ResumeMetricsMXBean ----
+
+    @Override
+    public long getPreviewUpdates() {
+        return preview.count.sum();
+    }
+
+    @Override
+    public double getPreviewAverageMillis() {
+        return preview.averageMillis();
+    }
+
+    @Override
+    public double getPreviewMaxMillis() {
+        return preview.maxNanos.get() / 1e6;
+    }
+
+    @Override
+    public long getPreviewNodesCreated() {
+        return previewNodes.sum();
+    }
+
+    @Override
+    public long getDraftSaves() {
+        return draftSaves.count.sum();
+    }
+
+    @Override
+    public double getDraftSaveAverageMillis() {
+        return draftSaves.averageMillis();
+    }
+
+    @Override
+    public long getDraftBytesWritten() {
+        return draftBytesWritten.sum();
+    }
+
+    @Override
+    public long getDraftLoads() {
+        return draftLoads.count.sum();
+    }
+
+    @Override
+    public double getDraftLoadAverageMillis() {
+        return draftLoads.averageMillis();
+    }
+
+    @Override
+    public long getDraftBytesRead() {
+        return draftBytesRead.sum();
+    }
+
+    @Override
+    public long getExports() {
+        return exports.count.sum();
+    }
+
+    @Override
+    public long getExportsRendered() {
+        return exportsRendered.sum();
+    }
+
+    @Override
+    public double getExportAverageMillis() {
+        return exports.averageMillis();
+    }
+
+    @Override
+    public long getExportBytesWritten() {
+        return exportBytes.sum();
+    }
+
+    @Override
+    public Map<String, Double> getExportPhaseTotalMillis() {
+        Map<String, Double> totals = new TreeMap<>();
+        exportPhases.forEach((phase, timer) -> totals.put(phase, timer.totalNanos.sum() / 1e6));
+        return totals;
+    }
+
+    @Override
+    public Map<String, Long> getExportPhaseCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        exportPhases.forEach((phase, timer) -> counts.put(phase, timer.count.sum()));
+        return counts;
+    }
+
+    @Override
+    public long getImageDecodes() {
+        return imageDecodes.count.sum();
+    }
+
+    @Override
+    public double getImageDecodeAverageMillis() {
+        return imageDecodes.averageMillis();
+    }
+
+    @Override
+    public void reset() {
+        preview.reset();
+        previewNodes.reset();
+        draftSaves.reset();
+        draftLoads.reset();
+        draftBytesWritten.reset();
+        draftBytesRead.reset();
+        exports.reset();
+        exportsRendered.reset();
+        exportBytes.reset();
+        exportPhases.clear();
+        imageDecodes.reset();
+    }
+}
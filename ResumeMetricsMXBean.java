@@ -0,0 +1,51 @@
+// Running totals published over JMX as resumemaker:type=Metrics, readable from
+// JConsole, JMC or any JMX client. Times are in milliseconds and cover this JVM's
+// lifetime, or the time since the last reset().
+
+import java.util.Map;
+
+public interface ResumeMetricsMXBean {
+
+    // Live preview
+    long getPreviewUpdates();
+
+    double getPreviewAverageMillis();
+
+    double getPreviewMaxMillis();
+
+    long getPreviewNodesCreated();
+
+    // Drafts
+    long getDraftSaves();
+
+    double getDraftSaveAverageMillis();
+
+    long getDraftBytesWritten();
+
+    long getDraftLoads();
+
+    double getDraftLoadAverageMillis();
+
+    long getDraftBytesRead();
+
+    // PDF export
+    long getExports();
+
+    long getExportsRendered();
+
+    double getExportAverageMillis();
+
+    long getExportBytesWritten();
+
+    // Phase name (Fonts, Header, Education, ..., Close) -> total milliseconds
+    Map<String, Double> getExportPhaseTotalMillis();
+
+    Map<String, Long> getExportPhaseCounts();
+
+    // Photo decoding, for the PDF and for the preview thumbnail
+    long getImageDecodes();
+
+    double getImageDecodeAverageMillis();
+
+    void reset();
+}
@@ -0,0 +1,327 @@
+// Renders a ResumeData snapshot to PDF without touching the JavaFX scene graph.
+// The same layout is used by the Export button, the batch render engine and ResumeBook,
+// which lays many resumes into one document through renderBody().
+
+import com.itextpdf.text.*;
+import com.itextpdf.text.pdf.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class ResumePdfRenderer {
+
+    // Told after each section is laid out; may throw (e.g. CancellationException) to abort
+    public interface ProgressListener {
+        void sectionDone(String section, int done, int total);
+    }
+
+    static final ProgressListener NO_PROGRESS = (section, done, total) -> {};
+
+    // Font subset names ("ABCDEF+DejaVuSans") and the file ID, both random per render
+    private static final Pattern SUBSET_NAME = Pattern.compile("/(?:FontName|BaseFont)/([A-Z]{6})\\+([^/\\s<>\\[\\]()]+)");
+    private static final Pattern FILE_ID = Pattern.compile("/ID \\[<([0-9a-f]{32})><([0-9a-f]{32})>\\]");
+
+    private final boolean reproducible;
+
+    public ResumePdfRenderer() {
+        this(false);
+    }
+
+    // reproducible: identical input gives byte-identical PDFs (fixed dates, file ID and
+    // font subset names), which RenderCache relies on
+    public ResumePdfRenderer(boolean reproducible) {
+        this.reproducible = reproducible;
+    }
+
+    // Holds no per-render state, so a single instance can be shared by any number of worker threads
+    public void render(ResumeData data, OutputStream out) throws DocumentException, IOException {
+        render(data, out, NO_PROGRESS);
+    }
+
+    public void render(ResumeData data, OutputStream out, ProgressListener progress) throws DocumentException, IOException {
+        // The body's sections, then closing the file
+        int total = sectionCount(data) + 1;
+
+        // Compiled once by the engine; nothing here parses template files
+        TemplateEngine.Plan plan = TemplateEngine.getInstance().plan(data.selectedTemplate);
+
+        ByteArrayOutputStream buffer = reproducible ? new ByteArrayOutputStream(64 * 1024) : null;
+        Document document = new Document();
+        PdfWriter writer = PdfWriter.getInstance(document, reproducible ? buffer : out);
+        if (plan.pageBackground != null) {
+            writer.setPageEvent(plan.pageBackground);
+        }
+        document.setMargins(data.margin, data.margin, data.margin, data.margin);
+        document.open();
+        if (reproducible) {
+            writer.getInfo().put(PdfName.CREATIONDATE, fixedDate());
+            writer.getInfo().put(PdfName.MODDATE, fixedDate());
+        }
+
+        int done = renderBody(document, data, plan, ResumePdfRenderer::loadPhoto, progress, total);
+
+        ResumeEvents.ExportPhase close = new ResumeEvents.ExportPhase("Close");
+        document.close();
+        if (reproducible) {
+            out.write(normalize(buffer.toByteArray()));
+        }
+        ResumeMetrics.getInstance().record(close);
+        progress.sectionDone("Finishing", done + 1, total);
+    }
+
+    // Rewrites the random parts of a finished PDF in place. Every replacement has the
+    // original's length, so the cross-reference offsets stay valid. Only works on files
+    // whose dictionaries are not inside compressed object streams, as render() writes them.
+    static byte[] normalize(byte[] pdf) {
+        String text = new String(pdf, StandardCharsets.ISO_8859_1);
+
+        // Derive each subset prefix from the face name; a face has one subset per file
+        Matcher subset = SUBSET_NAME.matcher(text);
+        while (subset.find()) {
+            byte[] hash = sha256().digest(subset.group(2).getBytes(StandardCharsets.ISO_8859_1));
+            for (int i = 0; i < 6; i++) {
+                pdf[subset.start(1) + i] = (byte) ('A' + (hash[i] & 0xff) % 26);
+            }
+        }
+
+        // The file ID becomes a hash of the rest of the file
+        Matcher id = FILE_ID.matcher(text);
+        if (id.find()) {
+            for (int g = 1; g <= 2; g++) Arrays.fill(pdf, id.start(g), id.end(g), (byte) '0');
+            byte[] digest = sha256().digest(pdf);
+            byte[] hex = HexFormat.of().formatHex(digest, 0, 16).getBytes(StandardCharsets.ISO_8859_1);
+            for (int g = 1; g <= 2; g++) System.arraycopy(hex, 0, pdf, id.start(g), hex.length);
+        }
+        return pdf;
+    }
+
+    // 2000-01-01 UTC, so the written date does not depend on the machine's time zone either
+    private static PdfDate fixedDate() {
+        Calendar calendar = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        calendar.set(2000, Calendar.JANUARY, 1);
+        return new PdfDate(calendar);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JRE has SHA-256
+        }
+    }
+
+    // Header, education, four bullet sections and each custom field
+    static int sectionCount(ResumeData data) {
+        return 6 + data.customFields.size();
+    }
+
+    // Lays one resume out into an open document from the current position, reporting each
+    // section against total. photos turns a photo path into an Image (or null); returns the
+    // number of sections done.
+    int renderBody(Document document, ResumeData data, TemplateEngine.Plan plan,
+                   Function<String, com.itextpdf.text.Image> photos,
+                   ProgressListener progress, int total) throws DocumentException {
+        int done = 0;
+        int fontSize = data.fontSize;
+        ResumeEvents.ExportPhase phase = new ResumeEvents.ExportPhase("Fonts");
+
+        int style = (data.bold ? Font.BOLD : 0) | (data.italic ? Font.ITALIC : 0);
+        BaseColor fontColor = bodyColor(data.fontColor, plan);
+
+        // The template styles the name and headings; body text keeps the user's choices
+        String headingFamily = plan.fontFamily != null ? plan.fontFamily : data.fontStyle;
+        FontRegistry fonts = FontRegistry.getInstance();
+        Font baseFont = fonts.getFont(data.fontStyle, fontSize, style, fontColor);
+        Font boldFont = fonts.getFont(data.fontStyle, fontSize, Font.BOLD, plan.pdfText);
+        Font sectionFont = fonts.getFont(headingFamily, fontSize + 4, Font.BOLD, plan.pdfText);
+        Font nameFont = fonts.getFont(headingFamily, 16, Font.BOLD, plan.pdfText);
+        phase = nextPhase(phase, "Header");
+
+        // Header with photo
+        PdfPTable headerTable = new PdfPTable(2);
+        headerTable.setWidthPercentage(100);
+        headerTable.setWidths(new int[]{3, 1});
+
+        PdfPCell nameCell = new PdfPCell();
+        nameCell.setBorder(Rectangle.NO_BORDER);
+        nameCell.addElement(new Paragraph(nullToEmpty(data.fullName), nameFont));
+        nameCell.addElement(new Paragraph(nullToEmpty(data.email), baseFont));
+        nameCell.addElement(new Paragraph(nullToEmpty(data.phone), baseFont));
+        headerTable.addCell(nameCell);
+        headerTable.addCell(photoCell(photos.apply(data.profilePhotoPath)));
+
+        document.add(headerTable);
+        document.add(Chunk.NEWLINE);
+        phase = nextPhase(phase, "Education");
+        progress.sectionDone("Header", ++done, total);
+
+        // Education section
+        addSectionHeading(document, plan, "Education", sectionFont);
+        com.itextpdf.text.List eduList = new com.itextpdf.text.List(false, 15);
+        for (String[] edu : data.education) {
+            String course = column(edu, 0);
+            String stream = column(edu, 1);
+            String institute = column(edu, 2);
+            String grade = column(edu, 3);
+            String year = column(edu, 4);
+
+            if (!course.isEmpty() || !stream.isEmpty() || !institute.isEmpty() || !grade.isEmpty() || !year.isEmpty()) {
+                Paragraph item = new Paragraph();
+                item.add(new Chunk(year + "  ", baseFont));
+                item.add(new Chunk(institute + "\n", boldFont));
+                item.add(new Chunk(course + (stream.isEmpty() ? "" : " (" + stream + ")") + "\n", baseFont));
+                if (!grade.isEmpty())
+                    item.add(new Chunk(grade, baseFont));
+                eduList.add(new ListItem(item));
+            }
+        }
+        document.add(eduList);
+        document.add(Chunk.NEWLINE);
+        phase = nextPhase(phase, "Skills");
+        progress.sectionDone("Education", ++done, total);
+
+        // Other sections
+        addSectionHeading(document, plan, "Skills", sectionFont);
+        addBulletSection(document, data.skills, baseFont);
+        phase = nextPhase(phase, "Internship");
+        progress.sectionDone("Skills", ++done, total);
+
+        addSectionHeading(document, plan, "Internship", sectionFont);
+        addBulletSection(document, data.internships, baseFont);
+        phase = nextPhase(phase, "Experience");
+        progress.sectionDone("Internship", ++done, total);
+
+        addSectionHeading(document, plan, "Experience", sectionFont);
+        addBulletSection(document, data.experience, baseFont);
+        phase = nextPhase(phase, "Projects");
+        progress.sectionDone("Experience", ++done, total);
+
+        addSectionHeading(document, plan, "Projects", sectionFont);
+        addBulletSection(document, data.projects, baseFont);
+        ResumeMetrics.getInstance().record(phase);
+        progress.sectionDone("Projects", ++done, total);
+
+        // Custom fields
+        for (Map.Entry<String, String> entry : data.customFields.entrySet()) {
+            // One phase name for all of them: field names are the user's data
+            ResumeEvents.ExportPhase field = new ResumeEvents.ExportPhase("Custom field");
+            String value = entry.getValue();
+            if (value != null && !value.trim().isEmpty()) {
+                addSectionHeading(document, plan, entry.getKey(), sectionFont);
+                document.add(new Paragraph(value, baseFont));
+                document.add(Chunk.NEWLINE);
+            }
+            ResumeMetrics.getInstance().record(field);
+            progress.sectionDone(entry.getKey(), ++done, total);
+        }
+        return done;
+    }
+
+    // Ends the running phase (timing it) and starts the next one
+    private static ResumeEvents.ExportPhase nextPhase(ResumeEvents.ExportPhase finished, String next) {
+        ResumeMetrics.getInstance().record(finished);
+        return new ResumeEvents.ExportPhase(next);
+    }
+
+    // Decoded and scaled to the header's 100x100 box; null when there is no usable photo
+    static com.itextpdf.text.Image loadPhoto(String photoPath) {
+        if (photoPath == null || photoPath.isEmpty()) return null;
+        ResumeEvents.ImageDecode decode = new ResumeEvents.ImageDecode("pdf", new File(photoPath).length());
+        try {
+            com.itextpdf.text.Image img = com.itextpdf.text.Image.getInstance(photoPath);
+            img.scaleToFit(100, 100);
+            ResumeMetrics.getInstance().record(decode);
+            return img;
+        } catch (Exception imgEx) {
+            return null; // a broken photo should not fail the export
+        }
+    }
+
+    private PdfPCell photoCell(com.itextpdf.text.Image img) {
+        if (img != null) {
+            PdfPCell imgCell = new PdfPCell(img);
+            imgCell.setHorizontalAlignment(Element.ALIGN_RIGHT);
+            imgCell.setBorder(Rectangle.NO_BORDER);
+            return imgCell;
+        }
+        PdfPCell empty = new PdfPCell();
+        empty.setBorder(Rectangle.NO_BORDER);
+        return empty;
+    }
+
+    private void addSectionHeading(Document document, TemplateEngine.Plan plan, String title, Font sectionFont) throws DocumentException {
+        Paragraph heading = new Paragraph(title.toUpperCase(), sectionFont);
+        heading.setSpacingBefore(10);
+        heading.setSpacingAfter(5);
+        heading.setAlignment(plan.headingAlignment);
+        document.add(heading);
+        document.add(new Chunk(new com.itextpdf.text.pdf.draw.LineSeparator(1, 100, BaseColor.LIGHT_GRAY, Element.ALIGN_LEFT, -2f)));
+    }
+
+    private void addBulletSection(Document document, List<String> items, Font baseFont) throws DocumentException {
+        com.itextpdf.text.List list = new com.itextpdf.text.List(false, 15);
+        list.setListSymbol(new Chunk("\u2022 ", baseFont));
+        for (String text : items) {
+            if (text != null && !text.trim().isEmpty()) {
+                list.add(new ListItem(text, baseFont));
+            }
+        }
+        if (!list.isEmpty()) {
+            document.add(list);
+            document.add(Chunk.NEWLINE);
+        }
+    }
+
+    // Untouched default black would vanish on a dark template, so it follows the template instead
+    private static BaseColor bodyColor(String fontColor, TemplateEngine.Plan plan) {
+        BaseColor color = parseColor(fontColor);
+        return color.getRGB() == BaseColor.BLACK.getRGB() ? plan.pdfText : color;
+    }
+
+    private static String column(String[] row, int index) {
+        return row != null && row.length > index && row[index] != null ? row[index] : "";
+    }
+
+    private static String nullToEmpty(String s) {
+        return s == null ? "" : s;
+    }
+
+    // Accepts both JavaFX Color.toString() output ("0xrrggbbaa") and CSS hex ("#rrggbb")
+    static BaseColor parseColor(String value) {
+        if (value == null) return BaseColor.BLACK;
+        String hex = value.trim();
+        if (hex.startsWith("0x") || hex.startsWith("0X")) {
+            hex = hex.substring(2);
+        } else if (hex.startsWith("#")) {
+            hex = hex.substring(1);
+        }
+        if (hex.length() == 3) {
+            hex = "" + hex.charAt(0) + hex.charAt(0) + hex.charAt(1) + hex.charAt(1) + hex.charAt(2) + hex.charAt(2);
+        }
+        try {
+            if (hex.length() >= 6) {
+                int rgb = Integer.parseInt(hex.substring(0, 6), 16);
+                return new BaseColor((rgb >> 16) & 0xff, (rgb >> 8) & 0xff, rgb & 0xff);
+            }
+        } catch (NumberFormatException e) {
+            // ignore invalid color
+        }
+        return BaseColor.BLACK;
+    }
+}
@@ -0,0 +1,174 @@
+// Live preview that keeps one stable node per section and per entry.
+// update() patches only the labels whose text changed instead of clearing and
+// rebuilding the whole preview on every keystroke. Labels only carry style classes
+// (see the theme stylesheets); a template is applied by swapping a single stylesheet
+// on the root, so no node ever gets an inline style to parse.
+
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.Separator;
+import javafx.scene.layout.VBox;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ResumePreview {
+
+    private static final String TITLE_CLASS = "preview-title";
+    private static final String LABEL_CLASS = "preview-label";
+
+    private final VBox root;
+    private final Label name;
+    private final Label email;
+    private final Label phone;
+    private final Separator trailingSeparator;
+    private final Map<String, SectionView> sections = new HashMap<>();
+
+    private String templateStylesheet;
+    private long nodesCreated;
+    private long layoutPasses;
+    private long cssPasses;
+    private long cssNanos;
+
+    private final class SectionView {
+        final VBox box;
+        final Label heading;
+        final List<Label> entries = new ArrayList<>();
+
+        SectionView() {
+            heading = newLabel(TITLE_CLASS);
+            box = new VBox(5, new Separator(), heading);
+            nodesCreated += 2;
+        }
+    }
+
+    public ResumePreview() {
+        root = new VBox(5) {
+            @Override
+            protected void layoutChildren() {
+                layoutPasses++;
+                super.layoutChildren();
+            }
+        };
+        root.getStyleClass().add("preview");
+        name = newLabel(TITLE_CLASS);
+        email = newLabel(LABEL_CLASS);
+        phone = newLabel(LABEL_CLASS);
+        trailingSeparator = new Separator();
+        nodesCreated++;
+    }
+
+    public VBox getRoot() {
+        return root;
+    }
+
+    // Swaps the template's stylesheet in; a no-op while the template stays the same
+    public void applyTemplate(TemplateEngine.Plan plan) {
+        if (!plan.previewStylesheet.equals(templateStylesheet)) {
+            templateStylesheet = plan.previewStylesheet;
+            root.getStylesheets().setAll(templateStylesheet);
+        }
+    }
+
+    // photo may be null when no profile image is selected
+    public void update(PreviewModel model, Node photo) {
+        setText(name, model.fullName);
+        setText(email, model.email);
+        setText(phone, model.phone);
+
+        List<Node> layout = new ArrayList<>();
+        if (photo != null) layout.add(photo);
+        layout.add(name);
+        layout.add(email);
+        layout.add(phone);
+
+        Map<String, SectionView> stale = new HashMap<>(sections);
+        for (PreviewModel.Section section : model.sections) {
+            SectionView view = stale.remove(section.key);
+            if (view == null) {
+                view = new SectionView();
+                sections.put(section.key, view);
+            }
+            patchSection(view, section);
+            layout.add(view.box);
+        }
+        for (String key : stale.keySet()) {
+            sections.remove(key);
+        }
+        layout.add(trailingSeparator);
+
+        // Only touch the children list when sections appear, disappear or move
+        if (!layout.equals(root.getChildren())) {
+            root.getChildren().setAll(layout);
+        }
+    }
+
+    private void patchSection(SectionView view, PreviewModel.Section section) {
+        setText(view.heading, section.title);
+
+        List<String> texts = section.entries;
+        for (int i = 0; i < texts.size(); i++) {
+            Label entry;
+            if (i < view.entries.size()) {
+                entry = view.entries.get(i);
+            } else {
+                entry = newLabel(LABEL_CLASS);
+                view.entries.add(entry);
+                view.box.getChildren().add(entry);
+            }
+            entry.setWrapText(section.wrapText);
+            setText(entry, texts.get(i));
+        }
+
+        // Drop entries that were removed from the form
+        int surplus = view.entries.size() - texts.size();
+        if (surplus > 0) {
+            int first = view.box.getChildren().size() - surplus;
+            view.box.getChildren().remove(first, view.box.getChildren().size());
+            view.entries.subList(texts.size(), view.entries.size()).clear();
+        }
+    }
+
+    private Label newLabel(String styleClass) {
+        Label label = new Label();
+        label.getStyleClass().add(styleClass);
+        nodesCreated++;
+        return label;
+    }
+
+    private static void setText(Label label, String text) {
+        if (!text.equals(label.getText())) {
+            label.setText(text);
+        }
+    }
+
+    // Counters for measuring scene-graph churn per keystroke
+    public long getNodesCreated() {
+        return nodesCreated;
+    }
+
+    public long getLayoutPasses() {
+        return layoutPasses;
+    }
+
+    // Runs the pending CSS pass for the preview now instead of in the next pulse, and
+    // times it; returns the nanoseconds spent
+    public long applyCss() {
+        long t0 = System.nanoTime();
+        root.applyCss();
+        long elapsed = System.nanoTime() - t0;
+        cssPasses++;
+        cssNanos += elapsed;
+        return elapsed;
+    }
+
+    public long getCssPasses() {
+        return cssPasses;
+    }
+
+    public long getCssNanos() {
+        return cssNanos;
+    }
+}
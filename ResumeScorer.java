@@ -0,0 +1,395 @@
+// Scores resumes against a job's keywords and phrases.
+//
+// The job's terms are compiled once into an Aho-Corasick automaton (a full DFA over the
+// characters the terms use), so each resume's skills, experience, projects, internships
+// and objective are read in a single pass, however many terms the job has. Matching is
+// case-insensitive, treats any run of whitespace as one space, and only counts whole
+// words: "Java" does not match inside "JavaScript". A resume's score is the share of
+// the job's total term weight it mentions at least once.
+//
+// Compiled jobs are cached: scoring many batches against the same terms compiles once.
+// A ResumeScorer is immutable, so topK() scores on all cores.
+//
+// Usage: java ResumeScorer <draftsDir> <termsFile> [k]
+//   termsFile: one keyword or phrase per line, "machine learning^2" for weight 2,
+//   "#" starts a comment line
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.stream.IntStream;
+
+public final class ResumeScorer {
+
+    // Compiled jobs kept for reuse, least recently used dropped first
+    private static final int COMPILED_CACHE_SIZE = 16;
+    private static final Map<Map<String, Double>, ResumeScorer> COMPILED = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Map<String, Double>, ResumeScorer> eldest) {
+                    return size() > COMPILED_CACHE_SIZE;
+                }
+            });
+
+    // Best first: score, then number of mentions, then the earlier resume
+    private static final Comparator<Match> RANKING = Comparator.comparingDouble((Match m) -> m.score)
+            .thenComparingInt(m -> m.mentions)
+            .thenComparing(Comparator.comparingInt((Match m) -> m.index).reversed())
+            .reversed();
+
+    // Terms, after normalization
+    private final String[] terms;
+    private final double[] weights;
+    private final double totalWeight;
+    private final int[] lengths;
+    private final boolean[] wordStart; // first char is a letter or digit, so needs a boundary before it
+    private final boolean[] wordEnd;   // likewise for the last char
+    private final int maxLength;
+
+    // Automaton: symbol = index of a character used by some term; others reset to the root
+    private final int[] asciiSymbol = new int[128];
+    private final Map<Character, Integer> otherSymbol = new HashMap<>();
+    private final int[][] next;    // state x symbol -> state
+    private final int[][] matches; // state -> terms ending there, including via suffixes
+
+    public static final class Match {
+        public final int index;      // position in the list given to topK(), -1 from score()
+        public final double score;   // 0..1: share of the job's term weight mentioned
+        public final int mentions;   // total term occurrences
+        private final ResumeScorer scorer;
+        private final int[] counts;  // per term
+
+        Match(ResumeScorer scorer, int index, int[] counts) {
+            this.scorer = scorer;
+            this.index = index;
+            this.counts = counts;
+            double found = 0;
+            int total = 0;
+            for (int t = 0; t < counts.length; t++) {
+                if (counts[t] > 0) found += scorer.weights[t];
+                total += counts[t];
+            }
+            this.score = scorer.totalWeight == 0 ? 0 : found / scorer.totalWeight;
+            this.mentions = total;
+        }
+
+        // Job terms found in the resume (normalized), in the job's order
+        public List<String> matchedTerms() {
+            List<String> found = new ArrayList<>();
+            for (int t = 0; t < counts.length; t++) {
+                if (counts[t] > 0) found.add(scorer.terms[t]);
+            }
+            return found;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("#%d %.0f%% (%d mentions) %s", index, score * 100, mentions, matchedTerms());
+        }
+    }
+
+    // ---- Compiling ----
+
+    public static ResumeScorer forJob(Collection<String> terms) {
+        Map<String, Double> weighted = new LinkedHashMap<>();
+        for (String term : terms) weighted.put(term, 1.0);
+        return forJob(weighted);
+    }
+
+    // Weights say how much each term matters; the same term set always returns the same scorer
+    public static ResumeScorer forJob(Map<String, Double> weightedTerms) {
+        Map<String, Double> normalized = new TreeMap<>();
+        for (Map.Entry<String, Double> entry : weightedTerms.entrySet()) {
+            String term = normalize(entry.getKey());
+            double weight = entry.getValue() == null ? 1.0 : entry.getValue();
+            if (!term.isEmpty() && weight > 0) normalized.merge(term, weight, Math::max);
+        }
+        return COMPILED.computeIfAbsent(normalized, ResumeScorer::new);
+    }
+
+    private ResumeScorer(Map<String, Double> normalized) {
+        int n = normalized.size();
+        terms = normalized.keySet().toArray(new String[0]);
+        weights = new double[n];
+        lengths = new int[n];
+        wordStart = new boolean[n];
+        wordEnd = new boolean[n];
+        double total = 0;
+        int longest = 0;
+        for (int t = 0; t < n; t++) {
+            weights[t] = normalized.get(terms[t]);
+            total += weights[t];
+            lengths[t] = terms[t].length();
+            longest = Math.max(longest, lengths[t]);
+            wordStart[t] = isWordChar(terms[t].charAt(0));
+            wordEnd[t] = isWordChar(terms[t].charAt(lengths[t] - 1));
+        }
+        totalWeight = total;
+        maxLength = longest;
+
+        // Alphabet: every character some term uses
+        Arrays.fill(asciiSymbol, -1);
+        int symbols = 0;
+        for (String term : terms) {
+            for (int i = 0; i < term.length(); i++) {
+                char c = term.charAt(i);
+                if (symbol(c) < 0) {
+                    if (c < 128) asciiSymbol[c] = symbols++;
+                    else otherSymbol.put(c, symbols++);
+                }
+            }
+        }
+
+        // Trie
+        List<int[]> trie = new ArrayList<>();
+        List<int[]> ends = new ArrayList<>();
+        trie.add(newRow(symbols));
+        ends.add(new int[0]);
+        for (int t = 0; t < n; t++) {
+            int state = 0;
+            for (int i = 0; i < terms[t].length(); i++) {
+                int s = symbol(terms[t].charAt(i));
+                if (trie.get(state)[s] < 0) {
+                    trie.get(state)[s] = trie.size();
+                    trie.add(newRow(symbols));
+                    ends.add(new int[0]);
+                }
+                state = trie.get(state)[s];
+            }
+            ends.set(state, append(ends.get(state), t));
+        }
+
+        // Failure links, breadth first, folded into the transitions so scanning never backtracks
+        next = trie.toArray(new int[0][]);
+        matches = ends.toArray(new int[0][]);
+        int[] fail = new int[next.length];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int s = 0; s < symbols; s++) {
+            if (next[0][s] < 0) {
+                next[0][s] = 0;
+            } else {
+                queue.add(next[0][s]);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            matches[state] = concat(matches[state], matches[fail[state]]);
+            for (int s = 0; s < symbols; s++) {
+                int child = next[state][s];
+                if (child < 0) {
+                    next[state][s] = next[fail[state]][s];
+                } else {
+                    fail[child] = next[fail[state]][s];
+                    queue.add(child);
+                }
+            }
+        }
+    }
+
+    // ---- Scoring ----
+
+    public Match score(ResumeData data) {
+        return score(data, -1);
+    }
+
+    // The k best resumes, best first; scored in parallel
+    public List<Match> topK(List<ResumeData> resumes, int k) {
+        if (k <= 0) return List.of();
+        TopK best = IntStream.range(0, resumes.size()).parallel()
+                .mapToObj(i -> score(resumes.get(i), i))
+                .collect(() -> new TopK(k), TopK::offer, TopK::merge);
+        return best.sorted();
+    }
+
+    // The k best records of a corpus, best first; each worker reads through its own cursor
+    public List<Match> topK(ResumeCorpus corpus, int k) {
+        if (k <= 0) return List.of();
+        TopK best = IntStream.range(0, corpus.size()).parallel()
+                .collect(() -> new TopK(k, corpus.cursor()), (top, i) -> {
+                    ResumeCorpus.Cursor c = top.cursor.seek(i);
+                    top.offer(score(c.skills(), c.experience(), c.projects(), c.internships(), c.objective(), i));
+                }, TopK::merge);
+        return best.sorted();
+    }
+
+    private Match score(ResumeData data, int index) {
+        return score(data.skills, data.experience, data.projects, data.internships, data.objective, index);
+    }
+
+    private Match score(List<String> skills, List<String> experience, List<String> projects,
+                        List<String> internships, String objective, int index) {
+        int[] counts = new int[terms.length];
+        boolean[] wordRing = new boolean[maxLength + 1];
+        for (String text : skills) scan(text, counts, wordRing);
+        for (String text : experience) scan(text, counts, wordRing);
+        for (String text : projects) scan(text, counts, wordRing);
+        for (String text : internships) scan(text, counts, wordRing);
+        scan(objective, counts, wordRing);
+        return new Match(this, index, counts);
+    }
+
+    // One pass over one entry; matches never span two entries
+    private void scan(String text, int[] counts, boolean[] wordRing) {
+        if (text == null || terms.length == 0) return;
+        int state = 0;
+        int pos = -1; // position in the normalized text
+        boolean lastWasSpace = true; // leading whitespace is dropped, as in normalize()
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                if (lastWasSpace) continue;
+                c = ' ';
+                lastWasSpace = true;
+            } else {
+                c = Character.toLowerCase(c);
+                lastWasSpace = false;
+            }
+            pos++;
+            boolean word = isWordChar(c);
+            wordRing[pos % wordRing.length] = word;
+
+            int s = symbol(c);
+            state = s < 0 ? 0 : next[state][s];
+            for (int t : matches[state]) {
+                if (wordEnd[t] && i + 1 < length && isWordChar(text.charAt(i + 1))) continue;
+                int before = pos - lengths[t];
+                if (wordStart[t] && before >= 0 && wordRing[before % wordRing.length]) continue;
+                counts[t]++;
+            }
+        }
+    }
+
+    // ---- Helpers ----
+
+    private int symbol(char c) {
+        if (c < 128) return asciiSymbol[c];
+        Integer s = otherSymbol.get(c);
+        return s == null ? -1 : s;
+    }
+
+    static String normalize(String term) {
+        if (term == null) return "";
+        return term.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    private static int[] newRow(int symbols) {
+        int[] row = new int[symbols];
+        Arrays.fill(row, -1);
+        return row;
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] result = Arrays.copyOf(values, values.length + 1);
+        result[values.length] = value;
+        return result;
+    }
+
+    private static int[] concat(int[] a, int[] b) {
+        if (b.length == 0) return a;
+        int[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    // Bounded min-heap of the best matches seen; one per parallel chunk, then merged
+    private static final class TopK {
+        private final int k;
+        private final PriorityQueue<Match> heap = new PriorityQueue<>(RANKING.reversed());
+        final ResumeCorpus.Cursor cursor; // when scoring a corpus
+
+        TopK(int k) {
+            this(k, null);
+        }
+
+        TopK(int k, ResumeCorpus.Cursor cursor) {
+            this.k = k;
+            this.cursor = cursor;
+        }
+
+        void offer(Match match) {
+            if (heap.size() < k) {
+                heap.add(match);
+            } else if (RANKING.compare(match, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(match);
+            }
+        }
+
+        void merge(TopK other) {
+            for (Match match : other.heap) offer(match);
+        }
+
+        List<Match> sorted() {
+            List<Match> list = new ArrayList<>(heap);
+            list.sort(RANKING);
+            return list;
+        }
+    }
+
+    // "term" or "term^weight" per line; blank lines and "#" comments skipped
+    static Map<String, Double> parseTerms(List<String> lines) {
+        Map<String, Double> terms = new LinkedHashMap<>();
+        for (String line : lines) {
+            String term = line.trim();
+            if (term.isEmpty() || term.startsWith("#")) continue;
+            double weight = 1.0;
+            int caret = term.lastIndexOf('^');
+            if (caret > 0) {
+                try {
+                    weight = Double.parseDouble(term.substring(caret + 1).trim());
+                    term = term.substring(0, caret);
+                } catch (NumberFormatException e) {
+                    // a literal caret, part of the term
+                }
+            }
+            terms.put(term, weight);
+        }
+        return terms;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java ResumeScorer <draftsDir> <termsFile> [k]");
+            System.exit(1);
+        }
+        List<Path> drafts = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(Paths.get(args[0]), "*.json")) {
+            for (Path p : stream) drafts.add(p);
+        }
+        drafts.sort(null);
+        List<ResumeData> resumes = new ArrayList<>(drafts.size());
+        for (Path draft : drafts) resumes.add(DraftStore.load(draft));
+        int k = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        ResumeScorer scorer = forJob(parseTerms(Files.readAllLines(Paths.get(args[1]), StandardCharsets.UTF_8)));
+        long start = System.nanoTime();
+        List<Match> best = scorer.topK(resumes, k);
+        System.out.printf("Scored %d resumes against %d terms in %.1f ms%n",
+                resumes.size(), scorer.terms.length, (System.nanoTime() - start) / 1e6);
+        for (Match match : best) {
+            System.out.printf("%5.1f%%  %-40s %s%n", match.score * 100, drafts.get(match.index).getFileName(),
+                    match.matchedTerms());
+        }
+    }
+}
@@ -0,0 +1,76 @@
+// Deterministic synthetic resumes for benchmarks and load tests.
+
+import java.util.Random;
+
+public final class SyntheticResumes {
+
+    public enum Size {
+        // A fresh graduate: a couple of entries per section
+        SMALL(2, 5, 1, 1, 2, 1),
+        // What most real drafts look like
+        TYPICAL(4, 20, 3, 4, 6, 4),
+        // Academic CVs: hundreds of entries
+        PATHOLOGICAL(50, 500, 40, 60, 300, 30);
+
+        final int education, skills, internships, experience, projects, customFields;
+
+        Size(int education, int skills, int internships, int experience, int projects, int customFields) {
+            this.education = education;
+            this.skills = skills;
+            this.internships = internships;
+            this.experience = experience;
+            this.projects = projects;
+            this.customFields = customFields;
+        }
+    }
+
+    private static final String[] SKILLS = {
+        "Java", "JavaFX", "Kubernetes", "Docker", "SQL", "PostgreSQL", "Python", "Spring Boot",
+        "React", "TypeScript", "AWS", "Git", "Linux", "Machine Learning", "REST APIs", "Kafka"
+    };
+    private static final String[] INSTITUTES = {
+        "Indian Institute of Technology Delhi", "Delhi University", "MIT", "Stanford University",
+        "University of Oxford", "National Institute of Technology", "BITS Pilani"
+    };
+    private static final String[] COURSES = {"B.Tech", "M.Tech", "BSc", "MSc", "PhD", "MBA"};
+    private static final String[] STREAMS = {"Computer Science", "Electronics", "Mathematics", "Physics"};
+
+    private SyntheticResumes() {}
+
+    public static ResumeData create(Size size, long seed) {
+        Random random = new Random(seed);
+        ResumeData data = new ResumeData();
+        data.fullName = "Candidate " + seed;
+        data.email = "candidate" + seed + "@example.com";
+        data.phone = "+91 98765 " + String.format("%05d", seed % 100000);
+        data.objective = "Software engineer looking to build reliable, fast systems and grow with a strong team.";
+
+        for (int i = 0; i < size.education; i++) {
+            data.education.add(new String[] {
+                pick(random, COURSES), pick(random, STREAMS), pick(random, INSTITUTES),
+                (6 + random.nextInt(4)) + "." + random.nextInt(10) + " CGPA", String.valueOf(2000 + random.nextInt(25))
+            });
+        }
+        for (int i = 0; i < size.skills; i++) {
+            data.skills.add(pick(random, SKILLS) + (i < SKILLS.length ? "" : " " + i));
+        }
+        for (int i = 0; i < size.internships; i++) {
+            data.internships.add("Software intern at Company " + random.nextInt(1000) + ", worked on internal tooling");
+        }
+        for (int i = 0; i < size.experience; i++) {
+            data.experience.add("Engineer at Company " + random.nextInt(1000) + " (" + (1 + random.nextInt(5))
+                    + " years), built services with " + pick(random, SKILLS) + " and " + pick(random, SKILLS));
+        }
+        for (int i = 0; i < size.projects; i++) {
+            data.projects.add("Project " + i + ": " + pick(random, SKILLS) + " based system for data processing");
+        }
+        for (int i = 0; i < size.customFields; i++) {
+            data.customFields.put("Field " + i, "Value for custom field " + i);
+        }
+        return data;
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,262 @@
+// Loads the Resources/template-*.json files once and compiles each into a Plan:
+// the colors, fonts and CSS that the preview and the PDF renderer both use, already
+// parsed, so rendering never touches JSON. Once watching, edited, added or deleted
+// template files are recompiled in the background and listeners are told.
+//
+// Template file keys: fontFamily, backgroundColor, textColor, layoutStyle and an
+// optional name (defaults to the file name, e.g. template-modern.json -> "Modern").
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.itextpdf.text.BaseColor;
+import com.itextpdf.text.Document;
+import com.itextpdf.text.Element;
+import com.itextpdf.text.Rectangle;
+import com.itextpdf.text.pdf.PdfContentByte;
+import com.itextpdf.text.pdf.PdfPageEvent;
+import com.itextpdf.text.pdf.PdfPageEventHelper;
+import com.itextpdf.text.pdf.PdfWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public final class TemplateEngine {
+
+    public static final String DEFAULT_TEMPLATE_DIR = "Resources";
+
+    // Used for unknown template names: a plain white page, as exports looked before templates
+    public static final Plan DEFAULT_PLAN = new Plan("Default", null, "#ffffff", "#000000", "modern");
+
+    // Declared after DEFAULT_PLAN, which loading falls back on
+    private static final TemplateEngine INSTANCE =
+            new TemplateEngine(Paths.get(System.getProperty("resume.templateDir", DEFAULT_TEMPLATE_DIR)));
+
+    // A compiled template. Immutable, so one instance is shared by every render.
+    public static final class Plan {
+        public final String name;
+        public final String fontFamily;      // null: headings use the resume's own font
+        public final String backgroundColor; // #rrggbb
+        public final String textColor;       // #rrggbb
+        public final String layoutStyle;
+
+        // Preview: a stylesheet (data: URI) overriding the theme's preview colors and font
+        public final String previewStylesheet;
+
+        // PDF
+        public final BaseColor pdfBackground;
+        public final BaseColor pdfText;
+        public final int headingAlignment;
+        public final PdfPageEvent pageBackground; // null for white pages
+
+        Plan(String name, String fontFamily, String backgroundColor, String textColor, String layoutStyle) {
+            this.name = name;
+            this.fontFamily = fontFamily;
+            this.pdfBackground = ResumePdfRenderer.parseColor(backgroundColor);
+            this.pdfText = ResumePdfRenderer.parseColor(textColor);
+            this.backgroundColor = toHex(pdfBackground);
+            this.textColor = toHex(pdfText);
+            this.layoutStyle = layoutStyle == null ? "modern" : layoutStyle.toLowerCase(Locale.ROOT);
+            this.headingAlignment = this.layoutStyle.equals("classic") ? Element.ALIGN_CENTER : Element.ALIGN_LEFT;
+
+            String css = ".preview { -preview-background: " + this.backgroundColor
+                    + "; -preview-text: " + this.textColor + ";"
+                    + (fontFamily != null ? " -fx-font-family: \"" + fontFamily + "\";" : "") + " }";
+            this.previewStylesheet = "data:text/css;base64,"
+                    + Base64.getEncoder().encodeToString(css.getBytes(StandardCharsets.UTF_8));
+
+            boolean white = pdfBackground.getRGB() == BaseColor.WHITE.getRGB();
+            this.pageBackground = white ? null : new PageBackground(pdfBackground);
+        }
+    }
+
+    // Paints the page under everything else once the page is finished
+    private static final class PageBackground extends PdfPageEventHelper {
+        private final BaseColor color;
+
+        PageBackground(BaseColor color) {
+            this.color = color;
+        }
+
+        @Override
+        public void onEndPage(PdfWriter writer, Document document) {
+            Rectangle page = document.getPageSize();
+            PdfContentByte under = writer.getDirectContentUnder();
+            under.saveState();
+            under.setColorFill(color);
+            under.rectangle(page.getLeft(), page.getBottom(), page.getWidth(), page.getHeight());
+            under.fill();
+            under.restoreState();
+        }
+    }
+
+    private final Path dir;
+    private final Map<String, Plan> plans = new ConcurrentHashMap<>();      // lower-case name -> plan
+    private final Map<Path, String> fileToName = new ConcurrentHashMap<>();
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private Thread watcher;
+
+    TemplateEngine(Path dir) {
+        this.dir = dir;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "template-*.json")) {
+            for (Path file : files) compile(file);
+        } catch (IOException e) {
+            // Templates folder missing (e.g. running from another working directory)
+        }
+    }
+
+    public static TemplateEngine getInstance() {
+        return INSTANCE;
+    }
+
+    public Plan plan(String name) {
+        Plan plan = name == null ? null : plans.get(name.toLowerCase(Locale.ROOT));
+        return plan != null ? plan : DEFAULT_PLAN;
+    }
+
+    // Template names for the selector, alphabetical
+    public List<String> names() {
+        List<String> names = new ArrayList<>();
+        for (Plan plan : plans.values()) names.add(plan.name);
+        names.sort(String.CASE_INSENSITIVE_ORDER);
+        return names;
+    }
+
+    // Runs on the watcher thread after a template is added, changed or removed
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    // Starts the background watcher; batch and headless renders never need it
+    public synchronized void startWatching() {
+        if (watcher != null || !Files.isDirectory(dir)) return;
+        watcher = new Thread(this::watch, "template-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    private void watch() {
+        try (WatchService service = dir.getFileSystem().newWatchService()) {
+            dir.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            while (true) {
+                WatchKey key = service.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        changed |= reloadAll();
+                        continue;
+                    }
+                    Path file = dir.resolve((Path) event.context());
+                    String fileName = file.getFileName().toString();
+                    if (!fileName.startsWith("template-") || !fileName.endsWith(".json")) continue;
+                    if (event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        changed |= remove(file);
+                    } else {
+                        changed |= compile(file);
+                    }
+                }
+                if (changed) {
+                    for (Runnable listener : listeners) listener.run();
+                }
+                if (!key.reset()) break;
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // shutting down
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private boolean reloadAll() {
+        boolean changed = false;
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "template-*.json")) {
+            for (Path file : files) changed |= compile(file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return changed;
+    }
+
+    // A file that does not parse (e.g. half-written) keeps its previous plan
+    private boolean compile(Path file) {
+        Plan plan;
+        try {
+            if (Files.size(file) == 0) return false; // just created, content still to come
+            plan = parse(file);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Skipping template " + file + ": " + e.getMessage());
+            return false;
+        }
+        String key = plan.name.toLowerCase(Locale.ROOT);
+        String previous = fileToName.put(file, key);
+        if (previous != null && !previous.equals(key)) plans.remove(previous);
+        plans.put(key, plan);
+        return true;
+    }
+
+    private boolean remove(Path file) {
+        String key = fileToName.remove(file);
+        return key != null && plans.remove(key) != null;
+    }
+
+    private static Plan parse(Path file) throws IOException {
+        String name = defaultName(file);
+        String fontFamily = null;
+        String backgroundColor = null;
+        String textColor = null;
+        String layoutStyle = null;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             JsonReader in = new JsonReader(reader)) {
+            in.beginObject();
+            while (in.hasNext()) {
+                String key = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (key) {
+                    case "name": name = in.nextString(); break;
+                    case "fontFamily": fontFamily = in.nextString(); break;
+                    case "backgroundColor": backgroundColor = in.nextString(); break;
+                    case "textColor": textColor = in.nextString(); break;
+                    case "layoutStyle": layoutStyle = in.nextString(); break;
+                    default: in.skipValue(); break;
+                }
+            }
+            in.endObject();
+        }
+        return new Plan(name, fontFamily,
+                backgroundColor != null ? backgroundColor : DEFAULT_PLAN.backgroundColor,
+                textColor != null ? textColor : DEFAULT_PLAN.textColor,
+                layoutStyle);
+    }
+
+    // template-modern.json -> Modern
+    private static String defaultName(Path file) {
+        String stem = file.getFileName().toString();
+        stem = stem.substring("template-".length(), stem.length() - ".json".length());
+        if (stem.isEmpty()) return "Template";
+        return Character.toUpperCase(stem.charAt(0)) + stem.substring(1);
+    }
+
+    private static String toHex(BaseColor color) {
+        return String.format("#%06x", color.getRGB() & 0xffffff);
+    }
+}
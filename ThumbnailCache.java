@@ -0,0 +1,90 @@
+// Cache of decoded profile-photo thumbnails for the live preview.
+// Images are decoded in the background by JavaFX and kept under a memory budget,
+// so typing in the form never decodes the photo again.
+
+import javafx.scene.image.Image;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class ThumbnailCache {
+
+    public static final long DEFAULT_BUDGET_BYTES = 8L * 1024 * 1024;
+
+    private record Key(String path, long modified, int width, int height) {}
+
+    private final long budgetBytes;
+    private long usedBytes;
+    // Access-ordered, so iteration starts at the least recently used thumbnail
+    private final LinkedHashMap<Key, Image> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    public ThumbnailCache(long budgetBytes) {
+        this.budgetBytes = budgetBytes;
+    }
+
+    // Called on the FX thread only. The returned Image may still be loading;
+    // an ImageView showing it updates by itself once decoding finishes.
+    public Image get(File file, int width, int height) {
+        Key key = new Key(file.getAbsolutePath(), file.lastModified(), width, height);
+        Image image = entries.get(key);
+        if (image != null && !image.isError()) {
+            return image;
+        }
+        if (image != null) {
+            remove(key);
+        }
+
+        image = new Image(file.toURI().toString(), width, height, true, true, true);
+        timeDecode(image, file);
+        entries.put(key, image);
+        usedBytes += estimateBytes(width, height);
+        evict(key);
+        return image;
+    }
+
+    public void clear() {
+        entries.clear();
+        usedBytes = 0;
+    }
+
+    public long getUsedBytes() {
+        return usedBytes;
+    }
+
+    private void remove(Key key) {
+        if (entries.remove(key) != null) {
+            usedBytes -= estimateBytes(key.width(), key.height());
+        }
+    }
+
+    private void evict(Key keep) {
+        Iterator<Map.Entry<Key, Image>> it = entries.entrySet().iterator();
+        while (usedBytes > budgetBytes && it.hasNext()) {
+            Key key = it.next().getKey();
+            if (key.equals(keep)) continue;
+            it.remove();
+            usedBytes -= estimateBytes(key.width(), key.height());
+        }
+    }
+
+    // Decoding runs in the background; it is timed from the request until it completes
+    private static void timeDecode(Image image, File file) {
+        ResumeEvents.ImageDecode event = new ResumeEvents.ImageDecode("preview", file.length());
+        if (image.getProgress() >= 1.0) {
+            ResumeMetrics.getInstance().record(event);
+            return;
+        }
+        image.progressProperty().addListener((obs, old, progress) -> {
+            if (progress.doubleValue() >= 1.0 && !image.isError()) {
+                ResumeMetrics.getInstance().record(event);
+            }
+        });
+    }
+
+    // Decoded thumbnails are stored as 32-bit ARGB; the requested box is an upper bound
+    private static long estimateBytes(int width, int height) {
+        return (long) width * height * 4;
+    }
+}
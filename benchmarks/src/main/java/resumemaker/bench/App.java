@@ -0,0 +1,218 @@
+package resumemaker.bench;
+
+import java.io.Closeable;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+// The application classes live in the default package, which a named package cannot
+// import, and JMH refuses benchmarks in the default package. The benchmarks reach the
+// application through method handles resolved once per fork instead; held in static
+// finals they are inlined like ordinary calls.
+final class App {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.publicLookup();
+
+    private static final Class<?> RESUME_DATA = load("ResumeData");
+
+    private static final MethodHandle SYNTHETIC_RESUME;
+    private static final MethodHandle NEW_RENDERER;
+    private static final MethodHandle RENDER;
+    private static final MethodHandle WRITE_DRAFT;
+    private static final MethodHandle READ_DRAFT;
+    private static final MethodHandle SAVE_DRAFT;
+    private static final MethodHandle LOAD_DRAFT;
+    private static final MethodHandle WRITE_ARCHIVE;
+    private static final MethodHandle OPEN_ARCHIVE;
+    private static final MethodHandle ARCHIVE_SIZE;
+    private static final MethodHandle READ_ARCHIVED;
+    private static final MethodHandle READ_ARCHIVED_NAME;
+    private static final MethodHandle READ_ARCHIVED_LIST;
+    private static final Object ARCHIVED_SKILLS;
+    private static final MethodHandle BUILD_PREVIEW;
+    private static final MethodHandle NEW_BOOK;
+    private static final MethodHandle WRITE_BOOK;
+    private static final MethodHandle SCORER_FOR_JOB;
+    private static final MethodHandle TOP_K;
+    private static final MethodHandle[] SCORED_LISTS;
+    private static final MethodHandle OBJECTIVE;
+    private static final MethodHandle CORPUS_OF;
+    private static final MethodHandle CURSOR;
+    private static final MethodHandle CURSOR_NEXT;
+    private static final MethodHandle CURSOR_SKILLS;
+
+    static {
+        try {
+            Class<?> synthetic = load("SyntheticResumes");
+            Class<?> size = load("SyntheticResumes$Size");
+            Class<?> renderer = load("ResumePdfRenderer");
+            Class<?> draftStore = load("DraftStore");
+            Class<?> archive = load("BinaryDraftStore");
+            Class<?> section = load("BinaryDraftStore$Section");
+            Class<?> previewModel = load("PreviewModel");
+            Class<?> book = load("ResumeBook");
+            Class<?> scorer = load("ResumeScorer");
+            Class<?> corpus = load("ResumeCorpus");
+            Class<?> cursor = load("ResumeCorpus$Cursor");
+
+            SYNTHETIC_RESUME = LOOKUP.findStatic(synthetic, "create", MethodType.methodType(RESUME_DATA, size, long.class));
+            NEW_RENDERER = LOOKUP.findConstructor(renderer, MethodType.methodType(void.class));
+            RENDER = LOOKUP.findVirtual(renderer, "render", MethodType.methodType(void.class, RESUME_DATA, OutputStream.class));
+            WRITE_DRAFT = LOOKUP.findStatic(draftStore, "write", MethodType.methodType(void.class, RESUME_DATA, Writer.class, boolean.class));
+            READ_DRAFT = LOOKUP.findStatic(draftStore, "read", MethodType.methodType(RESUME_DATA, Reader.class));
+            SAVE_DRAFT = LOOKUP.findStatic(draftStore, "save", MethodType.methodType(void.class, RESUME_DATA, Path.class));
+            LOAD_DRAFT = LOOKUP.findStatic(draftStore, "load", MethodType.methodType(RESUME_DATA, Path.class));
+            WRITE_ARCHIVE = LOOKUP.findStatic(archive, "write", MethodType.methodType(void.class, Path.class, Iterable.class));
+            OPEN_ARCHIVE = LOOKUP.findStatic(archive, "open", MethodType.methodType(archive, Path.class));
+            ARCHIVE_SIZE = LOOKUP.findVirtual(archive, "size", MethodType.methodType(int.class));
+            READ_ARCHIVED = LOOKUP.findVirtual(archive, "read", MethodType.methodType(RESUME_DATA, int.class));
+            READ_ARCHIVED_NAME = LOOKUP.findVirtual(archive, "readFullName", MethodType.methodType(String.class, int.class));
+            READ_ARCHIVED_LIST = LOOKUP.findVirtual(archive, "readList", MethodType.methodType(List.class, int.class, section));
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Object skills = Enum.valueOf((Class) section, "SKILLS");
+            ARCHIVED_SKILLS = skills;
+            BUILD_PREVIEW = LOOKUP.findStatic(previewModel, "build", MethodType.methodType(previewModel, RESUME_DATA));
+            NEW_BOOK = LOOKUP.findConstructor(book, MethodType.methodType(void.class));
+            WRITE_BOOK = LOOKUP.findVirtual(book, "write", MethodType.methodType(void.class, List.class, OutputStream.class));
+            SCORER_FOR_JOB = LOOKUP.findStatic(scorer, "forJob", MethodType.methodType(scorer, Collection.class));
+            TOP_K = LOOKUP.findVirtual(scorer, "topK", MethodType.methodType(List.class, List.class, int.class));
+            SCORED_LISTS = new MethodHandle[] {
+                LOOKUP.findGetter(RESUME_DATA, "skills", List.class),
+                LOOKUP.findGetter(RESUME_DATA, "experience", List.class),
+                LOOKUP.findGetter(RESUME_DATA, "projects", List.class),
+                LOOKUP.findGetter(RESUME_DATA, "internships", List.class)
+            };
+            OBJECTIVE = LOOKUP.findGetter(RESUME_DATA, "objective", String.class);
+            CORPUS_OF = LOOKUP.findStatic(corpus, "of", MethodType.methodType(corpus, Iterable.class));
+            CURSOR = LOOKUP.findVirtual(corpus, "cursor", MethodType.methodType(cursor));
+            CURSOR_NEXT = LOOKUP.findVirtual(cursor, "next", MethodType.methodType(boolean.class));
+            CURSOR_SKILLS = LOOKUP.findVirtual(cursor, "skills", MethodType.methodType(List.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private App() {}
+
+    // size is a SyntheticResumes.Size name: SMALL, TYPICAL or PATHOLOGICAL
+    static Object syntheticResume(String size, long seed) throws Throwable {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Object sizeValue = Enum.valueOf((Class) load("SyntheticResumes$Size"), size);
+        return SYNTHETIC_RESUME.invoke(sizeValue, seed);
+    }
+
+    static Object newRenderer() throws Throwable {
+        return NEW_RENDERER.invoke();
+    }
+
+    static void render(Object renderer, Object resume, OutputStream out) throws Throwable {
+        RENDER.invoke(renderer, resume, out);
+    }
+
+    static void writeDraft(Object resume, Writer writer) throws Throwable {
+        WRITE_DRAFT.invoke(resume, writer, false);
+    }
+
+    static Object readDraft(Reader reader) throws Throwable {
+        return READ_DRAFT.invoke(reader);
+    }
+
+    static void saveDraft(Object resume, Path file) throws Throwable {
+        SAVE_DRAFT.invoke(resume, file);
+    }
+
+    static Object loadDraft(Path file) throws Throwable {
+        return LOAD_DRAFT.invoke(file);
+    }
+
+    // A BinaryDraftStore archive of resumes
+    static void writeArchive(Path file, List<?> resumes) throws Throwable {
+        WRITE_ARCHIVE.invoke(file, resumes);
+    }
+
+    static Closeable openArchive(Path file) throws Throwable {
+        return (Closeable) OPEN_ARCHIVE.invoke(file);
+    }
+
+    static int archiveSize(Object archive) throws Throwable {
+        return (int) ARCHIVE_SIZE.invoke(archive);
+    }
+
+    static Object readArchived(Object archive, int record) throws Throwable {
+        return READ_ARCHIVED.invoke(archive, record);
+    }
+
+    static String readArchivedName(Object archive, int record) throws Throwable {
+        return (String) READ_ARCHIVED_NAME.invoke(archive, record);
+    }
+
+    static List<?> readArchivedSkills(Object archive, int record) throws Throwable {
+        return (List<?>) READ_ARCHIVED_LIST.invoke(archive, record, ARCHIVED_SKILLS);
+    }
+
+    static Object buildPreview(Object resume) throws Throwable {
+        return BUILD_PREVIEW.invoke(resume);
+    }
+
+    static Object newBook() throws Throwable {
+        return NEW_BOOK.invoke();
+    }
+
+    static void writeBook(Object book, List<?> resumes, OutputStream out) throws Throwable {
+        WRITE_BOOK.invoke(book, resumes, out);
+    }
+
+    static Object scorerForJob(Collection<String> terms) throws Throwable {
+        return SCORER_FOR_JOB.invoke(terms);
+    }
+
+    static List<?> topK(Object scorer, List<?> resumes, int k) throws Throwable {
+        return (List<?>) TOP_K.invoke(scorer, resumes, k);
+    }
+
+    // The text ResumeScorer reads: skills, experience, projects, internships, objective
+    static List<String> scoredText(Object resume) throws Throwable {
+        List<String> text = new ArrayList<>();
+        for (MethodHandle list : SCORED_LISTS) {
+            for (Object entry : (List<?>) list.invoke(resume)) text.add((String) entry);
+        }
+        text.add((String) OBJECTIVE.invoke(resume));
+        return text;
+    }
+
+    static Object corpusOf(List<?> resumes) throws Throwable {
+        return CORPUS_OF.invoke(resumes);
+    }
+
+    static Object cursor(Object corpus) throws Throwable {
+        return CURSOR.invoke(corpus);
+    }
+
+    static boolean next(Object cursor) throws Throwable {
+        return (boolean) CURSOR_NEXT.invoke(cursor);
+    }
+
+    // The cursor's current skills, or a resume's
+    static List<?> cursorSkills(Object cursor) throws Throwable {
+        return (List<?>) CURSOR_SKILLS.invoke(cursor);
+    }
+
+    static List<?> skills(Object resume) throws Throwable {
+        return (List<?>) SCORED_LISTS[0].invoke(resume);
+    }
+
+    private static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("Application class " + name + " is not on the classpath", e);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package resumemaker.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Same command line as JMH's own launcher, but results are written as JSON to
+// jmh-result.json unless -rf/-rff say otherwise, so every run can be compared later.
+//
+// Usage: java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regex]
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {}
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams() || cli.shouldListProfilers()
+                || cli.shouldListResultFormats()) {
+            // Listing and help are handled by the stock launcher
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli);
+        if (!cli.getResultFormat().hasValue()) {
+            // JMH names the file jmh-result.json by default once the format is JSON
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        new Runner(options.build()).run();
+    }
+}
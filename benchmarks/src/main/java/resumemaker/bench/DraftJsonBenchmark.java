@@ -0,0 +1,60 @@
+package resumemaker.bench;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Draft JSON encoding and decoding through DraftStore, in memory.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DraftJsonBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "PATHOLOGICAL"})
+    public String size;
+
+    private Object resume;
+    private String json;
+
+    @Setup
+    public void setup() throws Throwable {
+        resume = App.syntheticResume(size, 42);
+        StringWriter writer = new StringWriter();
+        App.writeDraft(resume, writer);
+        json = writer.toString();
+    }
+
+    @Benchmark
+    public String write() throws Throwable {
+        StringWriter writer = new StringWriter(json.length());
+        App.writeDraft(resume, writer);
+        return writer.toString();
+    }
+
+    @Benchmark
+    public Object read() throws Throwable {
+        return App.readDraft(new StringReader(json));
+    }
+
+    @Benchmark
+    public Object roundTrip() throws Throwable {
+        StringWriter writer = new StringWriter(json.length());
+        App.writeDraft(resume, writer);
+        return App.readDraft(new StringReader(writer.toString()));
+    }
+}
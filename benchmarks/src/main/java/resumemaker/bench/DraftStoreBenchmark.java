@@ -0,0 +1,117 @@
+package resumemaker.bench;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Many drafts on disk: one JSON file each (DraftStore) versus a single BinaryDraftStore
+// archive, for writing them all, loading them all, and reading one field from each.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DraftStoreBenchmark {
+
+    @Param({"TYPICAL"})
+    public String size;
+
+    @Param({"2000"})
+    public int drafts;
+
+    private List<Object> resumes;
+    private Path workDir;
+    private Path[] jsonFiles;
+    private Path written;
+    private Object archive;
+
+    @Setup
+    public void setup() throws Throwable {
+        resumes = new ArrayList<>(drafts);
+        for (int i = 0; i < drafts; i++) resumes.add(App.syntheticResume(size, i));
+
+        workDir = Files.createTempDirectory("draft-store-bench");
+        jsonFiles = new Path[drafts];
+        for (int i = 0; i < drafts; i++) {
+            jsonFiles[i] = workDir.resolve("draft-" + i + ".json");
+            App.saveDraft(resumes.get(i), jsonFiles[i]);
+        }
+        // Readers map this one; writeBinary replaces a different file
+        Path read = workDir.resolve("read.rmdb");
+        App.writeArchive(read, resumes);
+        archive = App.openArchive(read);
+        written = workDir.resolve("written.rmdb");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        ((Closeable) archive).close();
+        try (Stream<Path> files = Files.walk(workDir)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public void writeJson() throws Throwable {
+        for (int i = 0; i < drafts; i++) App.saveDraft(resumes.get(i), jsonFiles[i]);
+    }
+
+    @Benchmark
+    public void writeBinary() throws Throwable {
+        App.writeArchive(written, resumes);
+    }
+
+    @Benchmark
+    public int loadJson() throws Throwable {
+        int loaded = 0;
+        for (Path file : jsonFiles) {
+            if (App.loadDraft(file) != null) loaded++;
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public int loadBinary() throws Throwable {
+        int loaded = 0;
+        for (int i = 0, n = App.archiveSize(archive); i < n; i++) {
+            if (App.readArchived(archive, i) != null) loaded++;
+        }
+        return loaded;
+    }
+
+    @Benchmark
+    public long binaryFullNameOnly() throws Throwable {
+        long chars = 0;
+        for (int i = 0, n = App.archiveSize(archive); i < n; i++) chars += App.readArchivedName(archive, i).length();
+        return chars;
+    }
+
+    @Benchmark
+    public long binarySkillsOnly() throws Throwable {
+        long skills = 0;
+        for (int i = 0, n = App.archiveSize(archive); i < n; i++) skills += App.readArchivedSkills(archive, i).size();
+        return skills;
+    }
+}
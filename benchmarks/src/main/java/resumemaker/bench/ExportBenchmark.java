@@ -0,0 +1,48 @@
+package resumemaker.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// PDF generation as done by "Export to PDF", into memory so disk speed does not count.
+// Run from the repository root so FontRegistry finds the bundled fonts.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExportBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "PATHOLOGICAL"})
+    public String size;
+
+    private Object renderer;
+    private Object resume;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setup() throws Throwable {
+        renderer = App.newRenderer();
+        resume = App.syntheticResume(size, 42);
+        out = new ByteArrayOutputStream(256 * 1024);
+    }
+
+    @Benchmark
+    public int exportPdf() throws Throwable {
+        out.reset();
+        App.render(renderer, resume, out);
+        return out.size();
+    }
+}
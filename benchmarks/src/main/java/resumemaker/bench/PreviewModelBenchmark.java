@@ -0,0 +1,40 @@
+package resumemaker.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Building the preview text model, the headless part of every preview refresh.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PreviewModelBenchmark {
+
+    @Param({"SMALL", "TYPICAL", "PATHOLOGICAL"})
+    public String size;
+
+    private Object resume;
+
+    @Setup
+    public void setup() throws Throwable {
+        resume = App.syntheticResume(size, 42);
+    }
+
+    @Benchmark
+    public Object build() throws Throwable {
+        return App.buildPreview(resume);
+    }
+}
@@ -0,0 +1,76 @@
+package resumemaker.bench;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// A shortlist as one resume book versus one export per candidate, in memory.
+// The "bytes" counter is the total PDF size produced per operation.
+// Run from the repository root so FontRegistry finds the bundled fonts.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResumeBookBenchmark {
+
+    @Param({"50", "500"})
+    public int candidates;
+
+    private Object renderer;
+    private Object book;
+    private List<Object> resumes;
+    private ByteArrayOutputStream out;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Output {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setup() throws Throwable {
+        renderer = App.newRenderer();
+        book = App.newBook();
+        resumes = new ArrayList<>(candidates);
+        for (int i = 0; i < candidates; i++) resumes.add(App.syntheticResume("TYPICAL", i));
+        out = new ByteArrayOutputStream(4 * 1024 * 1024);
+    }
+
+    @Benchmark
+    public void book(Output output) throws Throwable {
+        out.reset();
+        App.writeBook(book, resumes, out);
+        output.bytes += out.size();
+    }
+
+    @Benchmark
+    public void separateExports(Output output) throws Throwable {
+        for (Object resume : resumes) {
+            out.reset();
+            App.render(renderer, resume, out);
+            output.bytes += out.size();
+        }
+    }
+}
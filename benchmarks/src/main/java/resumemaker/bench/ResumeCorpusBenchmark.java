@@ -0,0 +1,96 @@
+package resumemaker.bench;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Heap held per loaded resume, as a list of ResumeData versus a ResumeCorpus, and the
+// cost of walking every skill of every record in each. The heap figures are measured
+// once per fork after full collections, each structure alone, and printed in the run log
+// before the warmup.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class ResumeCorpusBenchmark {
+
+    @Param({"SMALL", "TYPICAL"})
+    public String size;
+
+    @Param({"50000"})
+    public int resumes;
+
+    private List<Object> list;
+    private Object corpus;
+
+    @Setup
+    public void setup() throws Throwable {
+        // Each structure is measured on its own against the same empty baseline
+        long before = usedHeap();
+        list = loadDrafts();
+        long listBytes = (usedHeap() - before) / resumes;
+
+        corpus = App.corpusOf(list);
+        list = null;
+        long corpusBytes = (usedHeap() - before) / resumes;
+
+        // scanList needs the drafts again
+        list = loadDrafts();
+        System.out.printf("%nHeap per %s resume: list of ResumeData %,d bytes, ResumeCorpus %,d bytes (%.1fx smaller)%n",
+                size, listBytes, corpusBytes, (double) listBytes / corpusBytes);
+    }
+
+    // Drafts as the app loads them: parsed from JSON, so no two records share a String
+    // instance, unlike SyntheticResumes' constants
+    private List<Object> loadDrafts() throws Throwable {
+        List<Object> drafts = new ArrayList<>(resumes);
+        for (int i = 0; i < resumes; i++) {
+            StringWriter json = new StringWriter();
+            App.writeDraft(App.syntheticResume(size, i), json);
+            drafts.add(App.readDraft(new StringReader(json.toString())));
+        }
+        return drafts;
+    }
+
+    @Benchmark
+    public long scanList() throws Throwable {
+        long chars = 0;
+        for (Object resume : list) {
+            for (Object skill : App.skills(resume)) chars += ((String) skill).length();
+        }
+        return chars;
+    }
+
+    @Benchmark
+    public long scanCorpus() throws Throwable {
+        long chars = 0;
+        Object cursor = App.cursor(corpus);
+        while (App.next(cursor)) {
+            for (Object skill : App.cursorSkills(cursor)) chars += ((String) skill).length();
+        }
+        return chars;
+    }
+
+    // Heap in use after full collections
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
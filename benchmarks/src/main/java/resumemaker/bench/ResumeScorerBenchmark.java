@@ -0,0 +1,87 @@
+package resumemaker.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Ranking a pool of resumes against a job's terms: the compiled automaton, scored in
+// parallel, versus the obvious loop of one whole-word regex per term over every entry.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResumeScorerBenchmark {
+
+    private static final List<String> JOB = List.of(
+            "java", "javafx", "kubernetes", "docker", "sql", "postgresql", "python", "spring boot",
+            "react", "typescript", "aws", "git", "linux", "machine learning", "rest apis", "kafka",
+            "go", "rust", "terraform", "data processing", "microservices", "ci/cd", "c++", "graphql");
+    private static final int K = 20;
+
+    @Param({"1000", "10000"})
+    public int resumes;
+
+    private List<Object> pool;
+    private List<List<String>> poolText;
+    private Object scorer;
+    private List<Pattern> patterns;
+
+    @Setup
+    public void setup() throws Throwable {
+        pool = new ArrayList<>(resumes);
+        poolText = new ArrayList<>(resumes);
+        for (int i = 0; i < resumes; i++) {
+            Object resume = App.syntheticResume("TYPICAL", i);
+            pool.add(resume);
+            poolText.add(App.scoredText(resume));
+        }
+        scorer = App.scorerForJob(JOB);
+        patterns = new ArrayList<>();
+        for (String term : JOB) {
+            patterns.add(Pattern.compile("(?<![\\p{L}\\p{N}])" + Pattern.quote(term) + "(?![\\p{L}\\p{N}])",
+                    Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE));
+        }
+    }
+
+    @Benchmark
+    public List<?> automaton() throws Throwable {
+        return App.topK(scorer, pool, K);
+    }
+
+    @Benchmark
+    public int[] regexPerTerm() {
+        // Best K scores by number of job terms found; enough work to compare, not a full ranking
+        int[] best = new int[K];
+        for (List<String> text : poolText) {
+            int found = 0;
+            for (Pattern pattern : patterns) {
+                for (String entry : text) {
+                    if (pattern.matcher(entry.toLowerCase(Locale.ROOT)).find()) {
+                        found++;
+                        break;
+                    }
+                }
+            }
+            int slot = 0;
+            for (int i = 1; i < K; i++) if (best[i] < best[slot]) slot = i;
+            if (found > best[slot]) best[slot] = found;
+        }
+        return best;
+    }
+}